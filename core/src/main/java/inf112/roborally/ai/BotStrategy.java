@@ -0,0 +1,21 @@
+package inf112.roborally.ai;
+
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+
+/**
+ * Decides which cards a bot programs its robot with each round.
+ */
+public interface BotStrategy {
+
+    /**
+     * Chooses a program for a bot. The game must only be read, never changed.
+     *
+     * @param game The game the bot plays in
+     * @param bot  The bot to choose a program for
+     * @param hand The cards the bot was dealt, at least Player.MAX_SELECTED_CARDS of them
+     * @return Player.MAX_SELECTED_CARDS different cards from the hand, in the order to play them
+     */
+    ProgramCard[] chooseProgram(GameState game, Player bot, ProgramCard[] hand);
+}
@@ -0,0 +1,59 @@
+package inf112.roborally.ai;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.board.FlagDistances;
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+
+/**
+ * Scores how good a game is for one robot. Higher is better.
+ * <p>
+ * Winning beats everything, then lives, then flags, then how close the robot is to its
+ * next flag, then damage. Closeness is read from the board's {@link FlagDistances}.
+ * <p>
+ * A register closer to the flag is worth more than four damage, so a robot takes some
+ * damage to make progress, but a life is worth forty registers. Scores only rank programs
+ * against each other, the numbers have no meaning on their own.
+ */
+public class Evaluator {
+
+    private static final int WIN = 1_000_000;
+    private static final int PER_LIFE = 20_000;
+    private static final int PER_FLAG = 10_000;
+    private static final int PER_REGISTER = 500;
+    private static final int PER_DAMAGE = 100;
+
+    /**
+     * @param game The game after the robot's program has run
+     * @param bot  The robot to score the game for
+     * @return The score of the game for the robot
+     */
+    public int score(GameState game, Player bot) {
+        if (game.getWinner() == bot)
+            return WIN;
+
+        int flags = 0;
+        while (flags < 4 && bot.hasFlag(flags + 1))
+            flags++;
+
+        int score = bot.getLife() * PER_LIFE + flags * PER_FLAG - bot.getDamage() * PER_DAMAGE;
+        if (flags < 4)
+            score -= distanceToFlag(game.getBoard(), bot, flags + 1) * PER_REGISTER;
+
+        return score;
+    }
+
+    /**
+     * @return Num. of registers the robot needs to reach the flag, or 0 if the board does not have it.
+     * A dead robot is measured from its backup, facing north, where it respawns.
+     */
+    protected int distanceToFlag(Board board, Player bot, int flagNum) {
+        if (board.getFlagCell(flagNum) < 0)
+            return 0;
+
+        if (bot.isDead())
+            return board.getFlagDistances().getDistance(flagNum, bot.getBackupX(), bot.getBackupY(), Direction.NORTH);
+        return board.getFlagDistances().getDistance(flagNum, bot.getX(), bot.getY(), bot.getDir());
+    }
+}
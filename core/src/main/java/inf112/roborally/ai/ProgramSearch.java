@@ -0,0 +1,293 @@
+package inf112.roborally.ai;
+
+import inf112.roborally.cards.CardType;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Player;
+import inf112.roborally.events.EventUtil;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Zobrist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Chooses a program for a bot by trying every ordered choice of 5 of the cards in its hand.
+ * <p>
+ * Cards of the same type do the same thing, so programs are enumerated as sequences of card
+ * types drawn from the hand, which collapses programs that only differ in which copy of a
+ * card they use. A hand of 9 cards has at most 15,120 programs, usually far fewer.
+ * <p>
+ * Each program is played on a copy of the game, with the other robots standing still, and the
+ * end state is scored by an {@link Evaluator}. The first levels of the search tree are split
+ * into tasks on a fork-join pool. Each task plays its subtree depth-first on its own copy of
+ * the game, undoing each card by restoring a snapshot.
+ * <p>
+ * Different orders of cards often lead to the same robots with the same cards left, e.g. a left
+ * and a right turn in either order. Such states are looked up by Zobrist hash in a
+ * {@link TranspositionTable} shared by all tasks, and only searched once.
+ */
+public class ProgramSearch implements BotStrategy {
+
+    /**
+     * Number of cards a bot is dealt each round.
+     */
+    public static final int HAND_SIZE = 9;
+
+    /**
+     * Programs are split into one task per choice of this many first cards.
+     */
+    private static final int SPLIT_DEPTH = 2;
+
+    private static final CardType[] TYPES = CardType.values();
+
+    /**
+     * Size of the default transposition table, 2^16 entries of 16 bytes.
+     */
+    private static final int TABLE_BITS = 16;
+
+    private final ForkJoinPool pool;
+    private final Evaluator evaluator;
+
+    /**
+     * Best rest of the program for states already searched, shared by all tasks & searches.
+     */
+    private final TranspositionTable table;
+
+
+    public ProgramSearch() {
+        this(ForkJoinPool.commonPool(), new Evaluator(), new TranspositionTable(TABLE_BITS));
+    }
+
+    /**
+     * @param pool      The pool to run the search on
+     * @param evaluator Scores the end of each program
+     * @param table     Remembers searched states. Entries are only valid for this evaluator and
+     *                  one board, so a table must not be shared between boards or evaluators.
+     */
+    public ProgramSearch(ForkJoinPool pool, Evaluator evaluator, TranspositionTable table) {
+        this.pool = pool;
+        this.evaluator = evaluator;
+        this.table = table;
+    }
+
+    /**
+     * Finds the best program for a bot.
+     */
+    @Override
+    public ProgramCard[] chooseProgram(GameState game, Player bot, ProgramCard[] hand) {
+        if (hand.length < Player.MAX_SELECTED_CARDS)
+            throw new IllegalArgumentException("A hand needs at least " + Player.MAX_SELECTED_CARDS + " cards.");
+
+        int[] counts = new int[TYPES.length];
+        ProgramCard[] cards = new ProgramCard[TYPES.length];
+        for (ProgramCard card : hand) {
+            counts[card.getType().ordinal()]++;
+            cards[card.getType().ordinal()] = card;
+        }
+
+        Search search = new Search(game, bot.getID(), cards);
+        int[] best = pool.invoke(search.task(new int[0], counts)).types;
+
+        // Picking a card from the hand for each type in the best program
+        ProgramCard[] program = new ProgramCard[Player.MAX_SELECTED_CARDS];
+        boolean[] used = new boolean[hand.length];
+        for (int i = 0; i < program.length; i++) {
+            for (int j = 0; j < hand.length; j++) {
+                if (!used[j] && hand[j].getType().ordinal() == best[i]) {
+                    used[j] = true;
+                    program[i] = hand[j];
+                    break;
+                }
+            }
+        }
+        return program;
+    }
+
+    /**
+     * Plays a card for the bot, unless it is dead, and then lets the board act.
+     */
+    private static void play(GameState game, Player bot, ProgramCard card) {
+        if (!bot.isDead())
+            bot.executeCard(game, card);
+        EventUtil.handleEvent(game);
+    }
+
+    /**
+     * The best program found in a part of the search, as card type ordinals.
+     */
+    private static class Result {
+        private final int score;
+        private final int[] types;
+
+        private Result(int score, int[] types) {
+            this.score = score;
+            this.types = types;
+        }
+    }
+
+    /**
+     * One search for one bot, shared by all of its tasks.
+     */
+    private class Search {
+        private final GameState game;
+        private final int botId;
+
+        /**
+         * A card from the hand of each type, indexed by type ordinal.
+         */
+        private final ProgramCard[] cards;
+
+        private Search(GameState game, int botId, ProgramCard[] cards) {
+            this.game = game;
+            this.botId = botId;
+            this.cards = cards;
+        }
+
+        private RecursiveTask<Result> task(int[] prefix, int[] counts) {
+            return new RecursiveTask<Result>() {
+                @Override
+                protected Result compute() {
+                    if (prefix.length < SPLIT_DEPTH)
+                        return split(prefix, counts);
+
+                    return searchSubtree(prefix, counts);
+                }
+            };
+        }
+
+        /**
+         * Forks one task per type of card that can come next, and keeps the best result.
+         * Ties go to the task that comes first, so the result does not depend on timing.
+         */
+        private Result split(int[] prefix, int[] counts) {
+            List<RecursiveTask<Result>> tasks = new ArrayList<>();
+            for (int type = 0; type < TYPES.length; type++) {
+                if (counts[type] == 0)
+                    continue;
+
+                int[] next = new int[prefix.length + 1];
+                System.arraycopy(prefix, 0, next, 0, prefix.length);
+                next[prefix.length] = type;
+                int[] remaining = counts.clone();
+                remaining[type]--;
+                tasks.add(task(next, remaining));
+            }
+
+            for (RecursiveTask<Result> task : tasks)
+                task.fork();
+
+            Result best = null;
+            for (RecursiveTask<Result> task : tasks) {
+                Result result = task.join();
+                if (best == null || result.score > best.score)
+                    best = result;
+            }
+            return best;
+        }
+
+        /**
+         * Plays the prefix on a copy of the game, and searches all programs starting with it.
+         */
+        private Result searchSubtree(int[] prefix, int[] counts) {
+            GameState copy = new GameState(game);
+            Player bot = copy.getPlayer(botId);
+            for (int type : prefix)
+                play(copy, bot, cards[type]);
+
+            Subtree subtree = new Subtree(copy, bot, cards, prefix, counts);
+            int score = subtree.search(prefix.length);
+            return new Result(score, subtree.bestFrom[prefix.length].clone());
+        }
+    }
+
+    /**
+     * Depth-first search below a prefix, on a copy of the game owned by one task.
+     */
+    private class Subtree {
+        private final GameState game;
+        private final Player bot;
+        private final ProgramCard[] cards;
+        private final int[] counts;
+
+        /**
+         * The state before each card of the program.
+         */
+        private final int[][] before = new int[Player.MAX_SELECTED_CARDS][];
+
+        /**
+         * The best cards from each depth to the end of the program, as type ordinals.
+         * Only bestFrom[depth][depth..] is used.
+         */
+        private final int[][] bestFrom = new int[Player.MAX_SELECTED_CARDS + 1][Player.MAX_SELECTED_CARDS];
+
+        private Subtree(GameState game, Player bot, ProgramCard[] cards, int[] prefix, int[] counts) {
+            this.game = game;
+            this.bot = bot;
+            this.cards = cards;
+            this.counts = counts;
+            System.arraycopy(prefix, 0, bestFrom[prefix.length], 0, prefix.length);
+            for (int i = 0; i < before.length; i++)
+                before[i] = game.snapshot();
+        }
+
+        /**
+         * Finds the best rest of the program from a depth, and leaves it in bestFrom[depth].
+         *
+         * @return The score of the best rest of the program
+         */
+        private int search(int depth) {
+            if (depth == Player.MAX_SELECTED_CARDS)
+                return evaluator.score(game, bot);
+
+            // The same robots with the same cards left have the same best program
+            long key = game.getHash() ^ Zobrist.mix(remainingKey(depth));
+            long entry = table.get(key);
+            if (entry != TranspositionTable.MISS) {
+                int suffix = (int) entry;
+                for (int i = Player.MAX_SELECTED_CARDS - 1; i >= depth; i--, suffix >>>= 3)
+                    bestFrom[depth][i] = suffix & 7;
+
+                return (int) (entry >> 32);
+            }
+
+            int bestScore = Integer.MIN_VALUE;
+            game.snapshot(before[depth]);
+            for (int type = 0; type < TYPES.length; type++) {
+                if (counts[type] == 0)
+                    continue;
+
+                counts[type]--;
+                play(game, bot, cards[type]);
+                int score = search(depth + 1);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestFrom[depth][depth] = type;
+                    System.arraycopy(bestFrom[depth + 1], depth + 1, bestFrom[depth], depth + 1,
+                            Player.MAX_SELECTED_CARDS - depth - 1);
+                }
+                game.restore(before[depth]);
+                counts[type]++;
+            }
+
+            int suffix = 0;
+            for (int i = depth; i < Player.MAX_SELECTED_CARDS; i++)
+                suffix = suffix << 3 | bestFrom[depth][i];
+            table.put(key, (long) bestScore << 32 | suffix);
+
+            return bestScore;
+        }
+
+        /**
+         * @return Bits identifying the bot, the depth & the cards left in its hand
+         */
+        private long remainingKey(int depth) {
+            long key = (long) bot.getID() << 32 | (long) depth << 28;
+            for (int type = 0; type < TYPES.length; type++)
+                key |= (long) counts[type] << (type * 4);
+
+            return key;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package inf112.roborally.ai;
+
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a random program. A cheap baseline to compare other strategies against.
+ */
+public class RandomStrategy implements BotStrategy {
+
+    private final SplittableRandom random;
+
+
+    /**
+     * @param random Source of the choices. Only used by the thread running the bot's game.
+     */
+    public RandomStrategy(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public ProgramCard[] chooseProgram(GameState game, Player bot, ProgramCard[] hand) {
+        ProgramCard[] cards = hand.clone();
+        ProgramCard[] program = new ProgramCard[Player.MAX_SELECTED_CARDS];
+        for (int i = 0; i < program.length; i++) {
+            int pick = i + random.nextInt(cards.length - i);
+            program[i] = cards[pick];
+            cards[pick] = cards[i];
+        }
+        return program;
+    }
+}
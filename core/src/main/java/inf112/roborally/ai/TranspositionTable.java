@@ -0,0 +1,75 @@
+package inf112.roborally.ai;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A fixed-size table from 64-bit keys to 64-bit values, shared by search threads without locks.
+ * <p>
+ * The entries live off-heap, in a direct buffer of two longs per slot, and a new entry always
+ * replaces the old one in its slot. Each slot stores key ^ value next to the value. A reader
+ * only trusts a slot when the two agree with the key it looks for, so a slot torn by two
+ * threads writing at once is seen as a miss, not as a wrong value. Writes are not published
+ * with any ordering, so a thread may miss an entry another thread just stored. That only
+ * costs a search some repeated work.
+ */
+public class TranspositionTable {
+
+    /**
+     * Returned by {@link #get(long)} when the key is not in the table.
+     */
+    public static final long MISS = Long.MIN_VALUE;
+
+    private final LongBuffer entries;
+    private final int mask;
+
+
+    /**
+     * @param sizeBits The table holds 2^sizeBits entries of 16 bytes
+     */
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 26)
+            throw new IllegalArgumentException("Size must be between 2^1 and 2^26 entries.");
+
+        int size = 1 << sizeBits;
+        this.mask = size - 1;
+        this.entries = ByteBuffer.allocateDirect(size * 2 * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    /**
+     * @param key   The key, a hash of the position
+     * @param value The value to store. Must not be MISS.
+     */
+    public void put(long key, long value) {
+        int slot = slot(key);
+        entries.put(slot, key ^ value);
+        entries.put(slot + 1, value);
+    }
+
+    /**
+     * @param key The key, a hash of the position
+     * @return The stored value, or MISS if the key is not in the table
+     */
+    public long get(long key) {
+        int slot = slot(key);
+        long check = entries.get(slot);
+        long value = entries.get(slot + 1);
+        if ((check ^ value) != key || value == MISS)
+            return MISS;
+
+        return value;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.capacity(); i++)
+            entries.put(i, 0);
+    }
+
+    private int slot(long key) {
+        return ((int) (key ^ key >>> 32) & mask) * 2;
+    }
+}
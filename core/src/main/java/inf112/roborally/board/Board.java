@@ -0,0 +1,383 @@
+package inf112.roborally.board;
+
+import inf112.roborally.entities.Direction;
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+import inf112.roborally.util.Position;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The rules-side of the map: tiles, walls, conveyors & lasers, compiled for fast lookups.
+ * <p>
+ * The object layers are read straight from the TMX file, without libGDX, so a Board can be
+ * loaded on any thread and shared between games. Rendering loads its own TiledMap.
+ */
+public class Board {
+
+    /**
+     * Dimension
+     */
+    public static final int TILE_SIZE = 60;  // Size of each tile in width & height
+
+    /**
+     * Where each player's robot starts. The maps do not mark start positions yet.
+     */
+    private static final Position[] START_POSITIONS = {
+            new Position(6, 1), new Position(9, 1), new Position(13, 1), new Position(16, 1)};
+    public static final int MAX_PLAYERS = START_POSITIONS.length;
+
+    /**
+     * Num. of tiles in width & height
+     */
+    private final int width;
+    private final int height;
+
+    /**
+     * Object layers compiled to one TileType per cell, indexed by y * width + x.
+     */
+    private final TileType[] tileEvents;
+    private final TileType[] tileMovers;
+    private final TileType[] tileLasers;
+    private final TileType[] tileWalls;
+
+    /**
+     * Walls as a 4-bit mask per cell (see Direction.edge), indexed by y * width + x.
+     * A wall is stored both on its own cell and on the opposite edge of the neighbour.
+     */
+    private final byte[] wallMask;
+
+    /**
+     * Conveyor belts compiled from OMovers.
+     */
+    private final ConveyorGraph conveyors;
+
+    /**
+     * Laser beams compiled from OLasers & OWalls.
+     */
+    private final LaserBeams laserBeams;
+
+    /**
+     * The cell of each flag, flag 1 at index 0, or -1 if the map does not have it.
+     */
+    private final int[] flagCells = {-1, -1, -1, -1};
+
+    /**
+     * Num. of registers to each flag from every cell & facing.
+     */
+    private final FlagDistances flagDistances;
+
+    /**
+     * Path of the map the board was loaded from, identifying the board.
+     */
+    private final String mapFile;
+
+
+    public Board() {
+        this("Map.tmx");
+    }
+
+    /**
+     * Loads a board from a TMX file on the classpath.
+     *
+     * @param mapFile Path of the map, e.g. "Map.tmx"
+     * @throws IllegalArgumentException if the map could not be found or read
+     */
+    public Board(String mapFile) {
+        this.mapFile = mapFile;
+        Element map = readMap(mapFile);
+        width = Integer.parseInt(map.getAttribute("width"));
+        height = Integer.parseInt(map.getAttribute("height"));
+        int tileWidth = Integer.parseInt(map.getAttribute("tilewidth"));
+        int tileHeight = Integer.parseInt(map.getAttribute("tileheight"));
+
+        List<TileObject> objectEvents = readObjectLayer(map, "OEvents", tileWidth, tileHeight);
+        List<TileObject> objectMovers = readObjectLayer(map, "OMovers", tileWidth, tileHeight);
+        List<TileObject> objectLasers = readObjectLayer(map, "OLasers", tileWidth, tileHeight);
+        List<TileObject> objectWalls = readObjectLayer(map, "OWalls", tileWidth, tileHeight);
+
+        tileEvents = compileLayer(objectEvents);
+        tileMovers = compileLayer(objectMovers);
+        tileLasers = compileLayer(objectLasers);
+        tileWalls = compileLayer(objectWalls);
+        wallMask = compileWalls(objectWalls);
+        conveyors = new ConveyorGraph(tileMovers, width, height);
+        laserBeams = new LaserBeams(tileLasers, this);
+
+        TileType[] flags = {TileType.FLAG1, TileType.FLAG2, TileType.FLAG3, TileType.FLAG4};
+        for (int cell = 0; cell < tileEvents.length; cell++) {
+            for (int i = 0; i < flags.length; i++)
+                if (tileEvents[cell] == flags[i])
+                    flagCells[i] = cell;
+        }
+        flagDistances = new FlagDistances(this);
+    }
+
+    private static Element readMap(String mapFile) {
+        try (InputStream in = Board.class.getClassLoader().getResourceAsStream(mapFile)) {
+            if (in == null)
+                throw new IllegalArgumentException("Map \"" + mapFile + "\" not found.");
+
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in).getDocumentElement();
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Map \"" + mapFile + "\" could not be read.", e);
+        }
+    }
+
+    /**
+     * Reads the objects of an object layer.
+     * Tiled counts y from the top, while the board counts from the bottom (like libGDX),
+     * so the y-coordinate is flipped.
+     *
+     * @param map   The root element of the map
+     * @param layer Name of the object layer
+     * @return The objects in the layer, in the order of the file
+     */
+    private List<TileObject> readObjectLayer(Element map, String layer, int tileWidth, int tileHeight) {
+        List<TileObject> objects = new ArrayList<>();
+        NodeList groups = map.getElementsByTagName("objectgroup");
+        for (int i = 0; i < groups.getLength(); i++) {
+            Element group = (Element) groups.item(i);
+            if (!layer.equals(group.getAttribute("name")))
+                continue;
+
+            NodeList children = group.getElementsByTagName("object");
+            for (int j = 0; j < children.getLength(); j++) {
+                Element object = (Element) children.item(j);
+                float x = parseFloat(object.getAttribute("x"));
+                float y = parseFloat(object.getAttribute("y"));
+                float objectHeight = parseFloat(object.getAttribute("height"));
+                float flippedY = height * tileHeight - y - objectHeight;
+
+                String type = object.hasAttribute("type") ? object.getAttribute("type") : null;
+                objects.add(new TileObject(TileType.fromName(type), (int) x / tileWidth, (int) flippedY / tileHeight));
+            }
+            return objects;
+        }
+
+        Log.get().log(Level.WARN, LogEvent.LAYER_NOT_FOUND, layer);
+        return objects;
+    }
+
+    private static float parseFloat(String value) {
+        return value.isEmpty() ? 0 : Float.parseFloat(value);
+    }
+
+    /**
+     * Compiles an object layer into a dense grid of tile-types.
+     * If several objects share a cell, the first one in the layer is kept.
+     *
+     * @param objects The objects of the layer
+     * @return A TileType[] with one entry per cell
+     */
+    private TileType[] compileLayer(List<TileObject> objects) {
+        TileType[] tiles = new TileType[width * height];
+        Arrays.fill(tiles, TileType.NONE);
+
+        for (TileObject object : objects) {
+            if (!isOnBoard(object.x, object.y) || tiles[object.y * width + object.x] != TileType.NONE)
+                continue;
+
+            tiles[object.y * width + object.x] = object.type;
+        }
+        return tiles;
+    }
+
+    /**
+     * Compiles the wall layer into a wall mask per cell.
+     * Every wall object on a cell is added, so a cell can have walls on several sides.
+     *
+     * @param objects The objects of the wall layer
+     * @return A byte[] with one mask per cell
+     */
+    private byte[] compileWalls(List<TileObject> objects) {
+        byte[] mask = new byte[width * height];
+
+        for (TileObject object : objects) {
+            int x = object.x;
+            int y = object.y;
+            if (!isOnBoard(x, y))
+                continue;
+
+            switch (object.type) {
+                case WALL_NORTH:
+                    addWall(mask, x, y, Direction.NORTH, Direction.SOUTH);
+                    break;
+
+                case WALL_EAST:
+                    addWall(mask, x, y, Direction.EAST, Direction.WEST);
+                    break;
+
+                case WALL_SOUTH:
+                    addWall(mask, x, y, Direction.SOUTH, Direction.NORTH);
+                    break;
+
+                case WALL_WEST:
+                    addWall(mask, x, y, Direction.WEST, Direction.EAST);
+                    break;
+
+                case WALL_NORTH_EAST:
+                    addWall(mask, x, y, Direction.NORTH, Direction.SOUTH);
+                    addWall(mask, x, y, Direction.EAST, Direction.WEST);
+                    break;
+
+                case WALL_NORTH_WEST:
+                    addWall(mask, x, y, Direction.NORTH, Direction.SOUTH);
+                    addWall(mask, x, y, Direction.WEST, Direction.EAST);
+                    break;
+
+                case WALL_SOUTH_EAST:
+                    addWall(mask, x, y, Direction.SOUTH, Direction.NORTH);
+                    addWall(mask, x, y, Direction.EAST, Direction.WEST);
+                    break;
+
+                case WALL_SOUTH_WEST:
+                    addWall(mask, x, y, Direction.SOUTH, Direction.NORTH);
+                    addWall(mask, x, y, Direction.WEST, Direction.EAST);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Adds a wall on one side of a cell, and on the mirrored side of the neighbour cell.
+     */
+    private void addWall(byte[] mask, int x, int y, Direction side, Direction mirrored) {
+        mask[y * width + x] |= side.edge;
+
+        int nx = x + side.dx;
+        int ny = y + side.dy;
+        if (isOnBoard(nx, ny))
+            mask[ny * width + nx] |= mirrored.edge;
+    }
+
+    /**
+     * @return Path of the map the board was loaded from, e.g. "Map.tmx"
+     */
+    public String getMapFile() {
+        return mapFile;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public ConveyorGraph getConveyors() {
+        return conveyors;
+    }
+
+    public LaserBeams getLaserBeams() {
+        return laserBeams;
+    }
+
+    public FlagDistances getFlagDistances() {
+        return flagDistances;
+    }
+
+    /**
+     * @param player Index of the player, 0 to MAX_PLAYERS - 1
+     * @return Where the player's robot starts
+     */
+    public Position getStartPosition(int player) {
+        return START_POSITIONS[player];
+    }
+
+    /**
+     * @param flagNum Flag number, 1-4 (inclusive)
+     * @return Index of the cell with the flag, y * width + x, or -1 if the map does not have it
+     */
+    public int getFlagCell(int flagNum) {
+        return flagCells[flagNum - 1];
+    }
+
+    /**
+     * @return true if (x, y) is a cell on the board
+     */
+    public boolean isOnBoard(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Checks if a robot can cross the edge of a cell in a given direction.
+     * Cells outside the board have no walls.
+     *
+     * @param x   x-coordinate of the cell
+     * @param y   y-coordinate of the cell
+     * @param dir The edge to cross
+     * @return false if there is a wall on that edge
+     */
+    public boolean canCross(int x, int y, Direction dir) {
+        if (!isOnBoard(x, y))
+            return true;
+
+        return (wallMask[y * width + x] & dir.edge) == 0;
+    }
+
+    /**
+     * Gets the tile-type of a cell in one of the object layers.
+     *
+     * @param layer Name of the object layer
+     * @param x     x-coordinate of the cell
+     * @param y     y-coordinate of the cell
+     * @return The TileType at (x, y), or NONE if there is none or the cell is outside the board
+     */
+    public TileType getTileType(String layer, int x, int y) {
+        TileType[] tiles = getTileLayer(layer);
+        if (tiles == null || !isOnBoard(x, y))
+            return TileType.NONE;
+
+        return tiles[y * width + x];
+    }
+
+    private TileType[] getTileLayer(String layer) {
+        switch (layer) {
+            case "OEvents":
+                return tileEvents;
+
+            case "OMovers":
+                return tileMovers;
+
+            case "OLasers":
+                return tileLasers;
+
+            case "OWalls":
+                return tileWalls;
+
+            default:
+                Log.get().log(Level.WARN, LogEvent.LAYER_NOT_FOUND, layer);
+                return null;
+        }
+    }
+
+    /**
+     * A single object in an object layer, placed on a cell.
+     */
+    private static class TileObject {
+        private final TileType type;
+        private final int x;
+        private final int y;
+
+        private TileObject(TileType type, int x, int y) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
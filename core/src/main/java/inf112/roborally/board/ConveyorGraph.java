@@ -0,0 +1,113 @@
+package inf112.roborally.board;
+
+import inf112.roborally.entities.Direction;
+
+/**
+ * The conveyor belts of a board, compiled to a successor graph.
+ * For each belt cell it holds the cell a robot is carried to, how the robot turns
+ * when it arrives there, and the speed of the belt.
+ * <p>
+ * Cells are indexed by y * width + x.
+ */
+public class ConveyorGraph {
+
+    /**
+     * Exit of a belt that carries robots off the board.
+     */
+    public static final int OFF_BOARD = -1;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * Speed class per cell: 2 for express, 1 for normal, 0 for no belt.
+     */
+    private final byte[] speed;
+
+    /**
+     * Direction the belt moves robots in, or null for no belt.
+     */
+    private final Direction[] direction;
+
+    /**
+     * Cell the belt moves robots to, or OFF_BOARD.
+     */
+    private final int[] exit;
+
+    /**
+     * Rotation of a robot carried to the exit cell: 1 right, -1 left, 0 none.
+     */
+    private final byte[] rotation;
+
+
+    /**
+     * @param movers The OMovers layer, with one TileType per cell
+     * @param width  Num. of tiles in width
+     * @param height Num. of tiles in height
+     */
+    public ConveyorGraph(TileType[] movers, int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.speed = new byte[width * height];
+        this.direction = new Direction[width * height];
+        this.exit = new int[width * height];
+        this.rotation = new byte[width * height];
+
+        for (int cell = 0; cell < movers.length; cell++) {
+            TileType belt = movers[cell];
+            if (!belt.isConveyor()) {
+                exit[cell] = OFF_BOARD;
+                continue;
+            }
+
+            Direction dir = belt.getConveyorExit();
+            int nx = cell % width + dir.dx;
+            int ny = cell / width + dir.dy;
+
+            speed[cell] = (byte) belt.getConveyorSpeed();
+            direction[cell] = dir;
+            if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                exit[cell] = OFF_BOARD;
+            } else {
+                exit[cell] = ny * width + nx;
+                rotation[cell] = (byte) movers[exit[cell]].getConveyorTurn();
+            }
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return 2 for an express belt, 1 for a normal belt, 0 if the cell has no belt
+     */
+    public int getSpeed(int cell) {
+        return speed[cell];
+    }
+
+    /**
+     * @return The direction the belt on the cell moves robots in, or null if there is no belt
+     */
+    public Direction getDirection(int cell) {
+        return direction[cell];
+    }
+
+    /**
+     * @return The cell a robot on this belt is carried to, or OFF_BOARD
+     */
+    public int getExit(int cell) {
+        return exit[cell];
+    }
+
+    /**
+     * @return 1 if a robot carried from this cell turns right, -1 if left, 0 otherwise
+     */
+    public int getRotation(int cell) {
+        return rotation[cell];
+    }
+}
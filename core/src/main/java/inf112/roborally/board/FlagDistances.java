@@ -0,0 +1,197 @@
+package inf112.roborally.board;
+
+import inf112.roborally.entities.Direction;
+
+import java.util.Arrays;
+
+/**
+ * How many registers a lone robot needs to reach each flag, from every cell & facing.
+ * <p>
+ * A register is one card followed by the board: express belts, all belts and gears. Walls stop
+ * moves & belts, and moving or being carried into a hole or off the board is lethal, so such
+ * moves are never part of a path. Other robots are ignored.
+ * <p>
+ * The distances are found once per board by a backwards breadth-first search from each flag
+ * over the (cell, facing) states, and kept as one byte per state.
+ */
+public class FlagDistances {
+
+    /**
+     * Distance of states that cannot reach the flag, or are outside the board.
+     */
+    public static final int UNREACHABLE = Byte.MAX_VALUE;
+
+    /**
+     * State a move leads to when the robot dies.
+     */
+    private static final int DEAD = -1;
+
+    /**
+     * Number of different cards a robot can play.
+     * Move 1-3, backup, turn right, turn left and u-turn.
+     */
+    private static final int ACTIONS = 7;
+
+    private final Board board;
+    private final int width;
+    private final int states;
+
+    /**
+     * Distances to each flag, flag 1 at index 0, indexed by cell * 4 + facing ordinal.
+     * Null if the board does not have the flag.
+     */
+    private final byte[][] distances = new byte[4][];
+
+
+    /**
+     * @param board The board, with its walls, belts & flags compiled
+     */
+    public FlagDistances(Board board) {
+        this.board = board;
+        this.width = board.getWidth();
+        this.states = board.getWidth() * board.getHeight() * 4;
+
+        // Predecessors of each state, as one array sliced by offsets
+        int[] successors = new int[states * ACTIONS];
+        int[] offsets = new int[states + 1];
+        for (int state = 0; state < states; state++) {
+            for (int action = 0; action < ACTIONS; action++) {
+                int next = isLethal(state >> 2) ? DEAD : play(state, action);
+                successors[state * ACTIONS + action] = next;
+                if (next != DEAD)
+                    offsets[next + 1]++;
+            }
+        }
+        for (int state = 0; state < states; state++)
+            offsets[state + 1] += offsets[state];
+
+        int[] predecessors = new int[offsets[states]];
+        int[] fill = Arrays.copyOf(offsets, states);
+        for (int state = 0; state < states; state++) {
+            for (int action = 0; action < ACTIONS; action++) {
+                int next = successors[state * ACTIONS + action];
+                if (next != DEAD)
+                    predecessors[fill[next]++] = state;
+            }
+        }
+
+        for (int flag = 1; flag <= 4; flag++) {
+            int cell = board.getFlagCell(flag);
+            if (cell >= 0)
+                distances[flag - 1] = search(cell, offsets, predecessors);
+        }
+    }
+
+    /**
+     * Breadth-first search backwards from all facings on the flag cell.
+     */
+    private byte[] search(int flagCell, int[] offsets, int[] predecessors) {
+        byte[] distance = new byte[states];
+        Arrays.fill(distance, (byte) UNREACHABLE);
+
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int facing = 0; facing < 4; facing++) {
+            distance[flagCell * 4 + facing] = 0;
+            queue[tail++] = flagCell * 4 + facing;
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            int next = Math.min(distance[state] + 1, UNREACHABLE);
+            for (int i = offsets[state]; i < offsets[state + 1]; i++) {
+                int previous = predecessors[i];
+                if (distance[previous] == UNREACHABLE) {
+                    distance[previous] = (byte) next;
+                    queue[tail++] = previous;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Plays one card & the board for a lone robot.
+     *
+     * @return The state after the register, or DEAD
+     */
+    private int play(int state, int action) {
+        int x = (state >> 2) % width;
+        int y = (state >> 2) / width;
+        Direction facing = Direction.fromIndex(state & 3);
+
+        // Card
+        switch (action) {
+            case 0:
+            case 1:
+            case 2:
+            case 3:
+                Direction dir = action == 3 ? facing.opposite() : facing;
+                int steps = action == 3 ? 1 : action + 1;
+                for (int i = 0; i < steps && board.canCross(x, y, dir); i++) {
+                    x += dir.dx;
+                    y += dir.dy;
+                    if (!board.isOnBoard(x, y) || isLethal(y * width + x))
+                        return DEAD;
+                }
+                break;
+
+            case 4:
+                facing = facing.right();
+                break;
+
+            case 5:
+                facing = facing.left();
+                break;
+
+            default:
+                facing = facing.opposite();
+                break;
+        }
+
+        // Express belts, then all belts
+        ConveyorGraph belts = board.getConveyors();
+        for (int minSpeed = 2; minSpeed >= 1; minSpeed--) {
+            int cell = y * width + x;
+            if (belts.getSpeed(cell) < minSpeed || !board.canCross(x, y, belts.getDirection(cell)))
+                continue;
+
+            int exit = belts.getExit(cell);
+            if (exit == ConveyorGraph.OFF_BOARD || isLethal(exit))
+                return DEAD;
+
+            facing = facing.turn(belts.getRotation(cell));
+            x = exit % width;
+            y = exit / width;
+        }
+
+        // Gears
+        TileType event = board.getTileType("OEvents", x, y);
+        if (event == TileType.ROTATE_RIGHT)
+            facing = facing.right();
+        else if (event == TileType.ROTATE_LEFT)
+            facing = facing.left();
+
+        return (y * width + x) * 4 + facing.ordinal();
+    }
+
+    private boolean isLethal(int cell) {
+        return board.getTileType("OEvents", cell % width, cell / width) == TileType.HOLE;
+    }
+
+    /**
+     * @param flagNum Flag number, 1-4 (inclusive)
+     * @param x       x-coordinate of the robot
+     * @param y       y-coordinate of the robot
+     * @param facing  Direction the robot faces
+     * @return Num. of registers needed to stand on the flag, or UNREACHABLE
+     */
+    public int getDistance(int flagNum, int x, int y, Direction facing) {
+        byte[] distance = distances[flagNum - 1];
+        if (distance == null || !board.isOnBoard(x, y))
+            return UNREACHABLE;
+
+        return distance[(y * width + x) * 4 + facing.ordinal()];
+    }
+}
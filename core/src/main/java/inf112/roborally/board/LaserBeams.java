@@ -0,0 +1,224 @@
+package inf112.roborally.board;
+
+import inf112.roborally.entities.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The board lasers, compiled to emitters with a direction and the cells their beam covers.
+ * <p>
+ * Map.tmx only paints the cells a beam covers (Laser or Laser_2x in OLasers), so each straight
+ * run of laser cells is turned into one beam. The emitter sits on the end of the run that is
+ * mounted on a wall, or on the south/west end if both or neither end is. From there the beam
+ * covers the painted cells, and is cut short by the first wall it meets.
+ * A run covering only Laser_2x cells has strength 2. Laser_2x cells where two runs cross count
+ * once for each run.
+ * <p>
+ * Cells are indexed by y * width + x.
+ */
+public class LaserBeams {
+
+    private static final int[] NO_BEAMS = new int[0];
+
+    /**
+     * Per beam: emitter cell, direction & damage
+     */
+    private final int[] emitter;
+    private final Direction[] direction;
+    private final int[] strength;
+
+    /**
+     * Cells covered by each beam, in the order the beam passes them.
+     * Beam b covers cells[start[b]] .. cells[start[b] + length[b] - 1].
+     */
+    private final int[] start;
+    private final int[] length;
+    private final int[] cells;
+
+    /**
+     * The beams covering each cell.
+     */
+    private final int[][] beamsAt;
+
+
+    /**
+     * @param lasers The OLasers layer, with one TileType per cell
+     * @param board  The board, used for its size & walls
+     */
+    public LaserBeams(TileType[] lasers, Board board) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+
+        List<int[]> found = new ArrayList<>();  // (emitter, direction ordinal, strength)
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (!isLaser(lasers, board, x, y))
+                    continue;
+
+                boolean horizontal = addRun(found, lasers, board, x, y, Direction.EAST, Direction.WEST);
+                boolean vertical = addRun(found, lasers, board, x, y, Direction.NORTH, Direction.SOUTH);
+                if (!horizontal && !vertical)
+                    addSingle(found, lasers, board, x, y);
+            }
+        }
+
+        int beams = found.size();
+        emitter = new int[beams];
+        direction = new Direction[beams];
+        strength = new int[beams];
+        start = new int[beams];
+        length = new int[beams];
+
+        List<Integer> covered = new ArrayList<>();
+        List<List<Integer>> beamsAtCell = new ArrayList<>();
+        for (int i = 0; i < width * height; i++)
+            beamsAtCell.add(null);
+
+        for (int b = 0; b < beams; b++) {
+            emitter[b] = found.get(b)[0];
+            direction[b] = Direction.values()[found.get(b)[1]];
+            strength[b] = found.get(b)[2];
+            start[b] = covered.size();
+
+            // Walking the beam from the emitter to the first wall or the end of the painted cells
+            int x = emitter[b] % width;
+            int y = emitter[b] / width;
+            while (isLaser(lasers, board, x, y)) {
+                int cell = y * width + x;
+                covered.add(cell);
+                if (beamsAtCell.get(cell) == null)
+                    beamsAtCell.set(cell, new ArrayList<>());
+                beamsAtCell.get(cell).add(b);
+
+                if (!board.canCross(x, y, direction[b]))
+                    break;
+                x += direction[b].dx;
+                y += direction[b].dy;
+            }
+            length[b] = covered.size() - start[b];
+        }
+
+        cells = new int[covered.size()];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = covered.get(i);
+
+        beamsAt = new int[width * height][];
+        for (int cell = 0; cell < beamsAt.length; cell++) {
+            List<Integer> list = beamsAtCell.get(cell);
+            if (list == null) {
+                beamsAt[cell] = NO_BEAMS;
+                continue;
+            }
+            beamsAt[cell] = new int[list.size()];
+            for (int i = 0; i < list.size(); i++)
+                beamsAt[cell][i] = list.get(i);
+        }
+    }
+
+    /**
+     * Adds the run of laser cells starting at (x, y) and going in 'forward', if (x, y) is the first
+     * cell of such a run.
+     *
+     * @return true if (x, y) is part of a run along this axis
+     */
+    private static boolean addRun(List<int[]> found, TileType[] lasers, Board board, int x, int y,
+                                  Direction forward, Direction backward) {
+        boolean hasNext = board.canCross(x, y, forward) && isLaser(lasers, board, x + forward.dx, y + forward.dy);
+        boolean hasPrev = board.canCross(x, y, backward) && isLaser(lasers, board, x + backward.dx, y + backward.dy);
+        if (!hasNext)
+            return hasPrev;
+        if (hasPrev)
+            return true;  // Not the first cell, the run is added from its first cell
+
+        int width = board.getWidth();
+        int endX = x;
+        int endY = y;
+        boolean allDouble = lasers[y * width + x] == TileType.LASER_2X;
+        while (board.canCross(endX, endY, forward) && isLaser(lasers, board, endX + forward.dx, endY + forward.dy)) {
+            endX += forward.dx;
+            endY += forward.dy;
+            allDouble &= lasers[endY * width + endX] == TileType.LASER_2X;
+        }
+
+        int power = allDouble ? 2 : 1;
+        boolean startMounted = !board.canCross(x, y, backward);
+        boolean endMounted = !board.canCross(endX, endY, forward);
+        if (endMounted && !startMounted)
+            found.add(new int[]{endY * width + endX, backward.ordinal(), power});
+        else
+            found.add(new int[]{y * width + x, forward.ordinal(), power});
+        return true;
+    }
+
+    /**
+     * Adds a laser covering a single cell. It fires away from a wall on the cell, if there is one.
+     */
+    private static void addSingle(List<int[]> found, TileType[] lasers, Board board, int x, int y) {
+        Direction dir = Direction.NORTH;
+        if (!board.canCross(x, y, Direction.SOUTH))
+            dir = Direction.NORTH;
+        else if (!board.canCross(x, y, Direction.NORTH))
+            dir = Direction.SOUTH;
+        else if (!board.canCross(x, y, Direction.WEST))
+            dir = Direction.EAST;
+        else if (!board.canCross(x, y, Direction.EAST))
+            dir = Direction.WEST;
+
+        int cell = y * board.getWidth() + x;
+        found.add(new int[]{cell, dir.ordinal(), lasers[cell] == TileType.LASER_2X ? 2 : 1});
+    }
+
+    private static boolean isLaser(TileType[] lasers, Board board, int x, int y) {
+        if (!board.isOnBoard(x, y))
+            return false;
+
+        TileType type = lasers[y * board.getWidth() + x];
+        return type == TileType.LASER || type == TileType.LASER_2X;
+    }
+
+    /**
+     * @return Num. of beams on the board
+     */
+    public int size() {
+        return emitter.length;
+    }
+
+    public int getEmitter(int beam) {
+        return emitter[beam];
+    }
+
+    public Direction getDirection(int beam) {
+        return direction[beam];
+    }
+
+    /**
+     * @return Damage dealt by the beam to the robot it hits
+     */
+    public int getStrength(int beam) {
+        return strength[beam];
+    }
+
+    /**
+     * @return Num. of cells the beam covers
+     */
+    public int getLength(int beam) {
+        return length[beam];
+    }
+
+    /**
+     * @param beam  The beam
+     * @param index 0 for the emitter cell, up to getLength(beam) - 1
+     * @return The cell the beam passes at the given index
+     */
+    public int getCell(int beam, int index) {
+        return cells[start[beam] + index];
+    }
+
+    /**
+     * @return The beams covering a cell. Must not be modified.
+     */
+    public int[] getBeamsAt(int cell) {
+        return beamsAt[cell];
+    }
+}
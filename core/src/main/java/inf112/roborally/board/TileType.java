@@ -0,0 +1,150 @@
+package inf112.roborally.board;
+
+import inf112.roborally.entities.Direction;
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All tile-types that can be placed in the object layers of the map.
+ * The name of each type matches the "type"-property used in Map.tmx.
+ */
+public enum TileType {
+    NONE(""),
+
+    /**
+     * OEvents
+     */
+    FLOOR("Floor"),
+    HOLE("Hole"),
+    FLAG1("Flag1"),
+    FLAG2("Flag2"),
+    FLAG3("Flag3"),
+    FLAG4("Flag4"),
+    ROTATE_LEFT("RotateLeft"),
+    ROTATE_RIGHT("RotateRight"),
+    SINGLE_WRENCH("Single_Wrench"),
+    HAMMER_WRENCH("Hammer_Wrench"),
+
+    /**
+     * OMovers - (name, speed, exit direction, turn)
+     * A turn of 1 is a right turn, -1 is a left turn.
+     */
+    EXPRESS_CONVEYOR_NORTH("Express_Conveyor_North", 2, Direction.NORTH, 0),
+    EXPRESS_CONVEYOR_EAST("Express_Conveyor_East", 2, Direction.EAST, 0),
+    EXPRESS_CONVEYOR_SOUTH("Express_Conveyor_South", 2, Direction.SOUTH, 0),
+    EXPRESS_CONVEYOR_WEST("Express_Conveyor_West", 2, Direction.WEST, 0),
+    EXPRESS_CONVEYOR_EAST_NORTH("Express_Conveyor_EastNorth", 2, Direction.NORTH, -1),
+    EXPRESS_CONVEYOR_NORTH_EAST("Express_Conveyor_NorthEast", 2, Direction.EAST, 1),
+    EXPRESS_CONVEYOR_EAST_SOUTH("Express_Conveyor_EastSouth", 2, Direction.SOUTH, 1),
+    EXPRESS_CONVEYOR_SOUTH_WEST("Express_Conveyor_SouthWest", 2, Direction.WEST, 1),
+    EXPRESS_CONVEYOR_WEST_NORTH("Express_Conveyor_WestNorth", 2, Direction.NORTH, 1),
+    NORMAL_CONVEYOR_NORTH("Normal_Conveyor_North", 1, Direction.NORTH, 0),
+    NORMAL_CONVEYOR_EAST("Normal_Conveyor_East", 1, Direction.EAST, 0),
+    NORMAL_CONVEYOR_SOUTH("Normal_Conveyor_South", 1, Direction.SOUTH, 0),
+    NORMAL_CONVEYOR_WEST("Normal_Conveyor_West", 1, Direction.WEST, 0),
+    NORMAL_CONVEYOR_EAST_NORTH("Normal_Conveyor_EastNorth", 1, Direction.NORTH, -1),
+    NORMAL_CONVEYOR_NORTH_EAST("Normal_Conveyor_NorthEast", 1, Direction.EAST, 1),
+    NORMAL_CONVEYOR_EAST_SOUTH("Normal_Conveyor_EastSouth", 1, Direction.SOUTH, 1),
+    NORMAL_CONVEYOR_SOUTH_EAST("Normal_Conveyor_SouthEast", 1, Direction.EAST, -1),
+
+    /**
+     * OLasers
+     */
+    LASER("Laser"),
+    LASER_2X("Laser_2x"),
+
+    /**
+     * OWalls
+     */
+    WALL_NORTH("Wall_North"),
+    WALL_EAST("Wall_East"),
+    WALL_SOUTH("Wall_South"),
+    WALL_WEST("Wall_West"),
+    WALL_NORTH_EAST("Wall_NorthEast"),
+    WALL_NORTH_WEST("Wall_NorthWest"),
+    WALL_SOUTH_EAST("Wall_SouthEast"),
+    WALL_SOUTH_WEST("Wall_SouthWest");
+
+    private static final Map<String, TileType> BY_NAME = new HashMap<>();
+
+    static {
+        for (TileType type : values())
+            BY_NAME.put(type.name, type);
+    }
+
+    /**
+     * The "type"-property of the tile in Map.tmx.
+     */
+    private final String name;
+
+    /**
+     * Conveyor belts only.
+     * Speed is 2 for express and 1 for normal conveyors, 0 for all other tiles.
+     */
+    private final int conveyorSpeed;
+    private final Direction conveyorExit;
+    private final int conveyorTurn;
+
+    TileType(String name) {
+        this(name, 0, null, 0);
+    }
+
+    TileType(String name, int conveyorSpeed, Direction conveyorExit, int conveyorTurn) {
+        this.name = name;
+        this.conveyorSpeed = conveyorSpeed;
+        this.conveyorExit = conveyorExit;
+        this.conveyorTurn = conveyorTurn;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isConveyor() {
+        return conveyorSpeed > 0;
+    }
+
+    public int getConveyorSpeed() {
+        return conveyorSpeed;
+    }
+
+    /**
+     * @return The direction a conveyor moves robots in, or null if this is not a conveyor
+     */
+    public Direction getConveyorExit() {
+        return conveyorExit;
+    }
+
+    /**
+     * @return 1 if a robot carried onto this conveyor turns right, -1 if left, 0 if it does not turn
+     */
+    public int getConveyorTurn() {
+        return conveyorTurn;
+    }
+
+    public boolean isFlag() {
+        return this == FLAG1 || this == FLAG2 || this == FLAG3 || this == FLAG4;
+    }
+
+    /**
+     * Finds the tile-type with the given name.
+     *
+     * @param name The "type"-property of the map object
+     * @return The corresponding TileType, or NONE if the name is unknown
+     */
+    public static TileType fromName(String name) {
+        if (name == null)
+            return NONE;
+
+        TileType type = BY_NAME.get(name);
+        if (type == null) {
+            Log.get().log(Level.WARN, LogEvent.UNKNOWN_TILE, name);
+            return NONE;
+        }
+        return type;
+    }
+}
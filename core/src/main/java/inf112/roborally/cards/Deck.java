@@ -0,0 +1,197 @@
+package inf112.roborally.cards;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * The pile of program cards that hands are dealt from.
+ * <p>
+ * The pile is an array of card ids, see {@link ProgramCard#fromId(int)}. Each draw takes a
+ * random card from the pile, one step of a Fisher-Yates shuffle, so the pile never has to
+ * be shuffled as a whole, and recycled cards can simply be put back. Nothing is allocated
+ * when drawing or recycling single cards. A Deck is not thread-safe, each game has its own.
+ */
+public class Deck implements Iterable<ProgramCard> {
+
+    public final static int DECK_SIZE = ProgramCard.COUNT;
+
+    /**
+     * Source of the draws.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Ids of the cards in the pile, in cards[0 .. size - 1].
+     */
+    private final int[] cards;
+    private int size;
+
+    /**
+     * True for each card id that is in the pile.
+     */
+    private final boolean[] inPile;
+
+    public Deck() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creating a deck with all cards of the standard deck.
+     *
+     * @param random Source of the draws, seeded to get the same cards every time
+     */
+    public Deck(SplittableRandom random) {
+        this.random = random;
+        this.cards = new int[DECK_SIZE];
+        this.inPile = new boolean[DECK_SIZE];
+        for (int id = 0; id < DECK_SIZE; id++)
+            recycle(ProgramCard.fromId(id));
+    }
+
+    /**
+     * Creating a deck with a given pile, e.g. one that was saved.
+     *
+     * @param random Source of the draws
+     * @param pile   Ids of the cards in the pile, in order, see {@link #getCardIds()}
+     * @throws IllegalArgumentException if an id is not one of the standard deck, or is given twice
+     */
+    public Deck(SplittableRandom random, int[] pile) {
+        this.random = random;
+        this.cards = new int[DECK_SIZE];
+        this.inPile = new boolean[DECK_SIZE];
+        for (int id : pile) {
+            if (id < 0 || id >= DECK_SIZE)
+                throw new IllegalArgumentException("No card with id " + id + ".");
+            recycle(ProgramCard.fromId(id));
+        }
+    }
+
+    private Deck(Deck other, SplittableRandom random) {
+        this.random = random;
+        this.cards = other.cards.clone();
+        this.inPile = other.inPile.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Copies the deck, e.g. to simulate deals without changing it.
+     *
+     * @param random Source of the draws of the copy
+     * @return A deck with the same cards in its pile
+     */
+    public Deck copy(SplittableRandom random) {
+        return new Deck(this, random);
+    }
+
+    /**
+     * @return Num. of cards in the pile
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Ids of the cards in the pile, in the order they are iterated
+     */
+    public int[] getCardIds() {
+        return Arrays.copyOf(cards, size);
+    }
+
+    /**
+     * Shuffles the pile. (pseudo-random)
+     * Draws are random anyway, this only changes the order the pile is iterated in.
+     */
+    public void shuffle() {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+
+    /**
+     * Draws a random card from the pile.
+     *
+     * @return The card
+     * @throws NoSuchElementException if the pile is empty
+     */
+    public ProgramCard pop() {
+        if (size == 0)
+            throw new NoSuchElementException("The deck is empty.");
+
+        // Swapping a random card to the end of the pile, and taking it
+        int pick = random.nextInt(size);
+        int card = cards[pick];
+        cards[pick] = cards[--size];
+        inPile[card] = false;
+        return ProgramCard.fromId(card);
+    }
+
+    /**
+     * Method for drawing specified amount of cards.
+     *
+     * @param amount Number of cards to draw
+     * @return A ProgramCard[] with length 'amount'
+     */
+    public ProgramCard[] take(int amount) {
+        ProgramCard[] cardsToDraw = new ProgramCard[amount];
+        for (int i = 0; i < amount; i++)
+            cardsToDraw[i] = pop();
+
+        return cardsToDraw;
+    }
+
+    /**
+     * Recycles the card given - puts it back into the pile.
+     *
+     * @param card The card to recycle
+     * @throws IllegalArgumentException if the card is not from the standard deck, or already in the pile
+     */
+    public void recycle(ProgramCard card) {
+        int id = card.getId();
+        if (id < 0)
+            throw new IllegalArgumentException("Only cards of the standard deck can be recycled.");
+        if (inPile[id])
+            throw new IllegalArgumentException("Card " + id + " is already in the deck.");
+
+        inPile[id] = true;
+        cards[size++] = id;
+    }
+
+    /**
+     * Method for recycling a list of cards. Empty slots (null) are skipped.
+     *
+     * @param cards The cards to recycle
+     */
+    public void recycleAll(ProgramCard[] cards) {
+        for (ProgramCard card : cards)
+            if (card != null)
+                this.recycle(card);
+    }
+
+    /**
+     * Iterates the cards in the pile.
+     */
+    @Override
+    public Iterator<ProgramCard> iterator() {
+        return new Iterator<ProgramCard>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public ProgramCard next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                return ProgramCard.fromId(cards[next++]);
+            }
+        };
+    }
+}
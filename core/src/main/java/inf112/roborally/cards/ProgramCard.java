@@ -0,0 +1,95 @@
+package inf112.roborally.cards;
+
+public class ProgramCard {
+
+    /**
+     * Num. of cards in a standard deck.
+     */
+    public static final int COUNT = 84;
+
+    /**
+     * The cards of a standard deck, interned and indexed by id. Priorities are 10, 20 .. 840,
+     * and the id of a card is its priority / 10 - 1.
+     * <p>
+     * - 6 u-turn
+     * - 18 rotate_left & 18 rotate_right, alternating
+     * - 6 backup
+     * - 18 move1
+     * - 12 move2
+     * - 6 move3
+     */
+    private static final ProgramCard[] CARDS = new ProgramCard[COUNT];
+
+    static {
+        int id = 0;
+        for (int i = 0; i < 6; i++)
+            id = intern(id, CardType.TURN_U);
+        for (int i = 0; i < 18 * 2; i++)
+            id = intern(id, i % 2 == 0 ? CardType.TURN_LEFT : CardType.TURN_RIGHT);
+        for (int i = 0; i < 6; i++)
+            id = intern(id, CardType.BACKUP);
+        for (int i = 0; i < 18; i++)
+            id = intern(id, CardType.MOVE1);
+        for (int i = 0; i < 12; i++)
+            id = intern(id, CardType.MOVE2);
+        for (int i = 0; i < 6; i++)
+            id = intern(id, CardType.MOVE3);
+    }
+
+    private static int intern(int id, CardType type) {
+        CARDS[id] = new ProgramCard(id, type, (id + 1) * 10);
+        return id + 1;
+    }
+
+    /**
+     * Id of the card in a standard deck, or -1 if it is not from one.
+     */
+    private final int id;
+
+    /**
+     * A unique priority to decide which card plays first.
+     */
+    private final int priority;
+
+    /**
+     * The type of the card.
+     */
+    private final CardType type;
+
+
+    /**
+     * Creates a card that is not part of the standard deck.
+     */
+    public ProgramCard(CardType type, int priority) {
+        this(-1, type, priority);
+    }
+
+    private ProgramCard(int id, CardType type, int priority) {
+        this.id = id;
+        this.type = type;
+        this.priority = priority;
+    }
+
+    /**
+     * @param id Id of the card, 0 to COUNT - 1
+     * @return The card of the standard deck with the given id
+     */
+    public static ProgramCard fromId(int id) {
+        return CARDS[id];
+    }
+
+    /**
+     * @return Id of the card in the standard deck, or -1 if it is not from one
+     */
+    public int getId() {
+        return id;
+    }
+
+    public CardType getType() {
+        return type;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,61 @@
+package inf112.roborally.entities;
+
+/**
+ * The four directions, declared clockwise so that turning is index arithmetic.
+ */
+public enum Direction {
+    NORTH(0, 1, 1),
+    EAST(1, 0, 2),
+    SOUTH(0, -1, 4),
+    WEST(-1, 0, 8);
+
+    /**
+     * All directions by ordinal, shared so lookups do not copy values().
+     */
+    private static final Direction[] VALUES = values();
+
+    /**
+     * Change in x & y when taking one step in this direction.
+     */
+    public final int dx;
+    public final int dy;
+
+    /**
+     * The bit representing the edge of a cell facing this direction.
+     */
+    public final int edge;
+
+    Direction(int dx, int dy, int edge) {
+        this.dx = dx;
+        this.dy = dy;
+        this.edge = edge;
+    }
+
+    /**
+     * @param index An ordinal, 0 = north, 1 = east, 2 = south, 3 = west
+     * @return The direction with the given ordinal
+     */
+    public static Direction fromIndex(int index) {
+        return VALUES[index & 3];
+    }
+
+    /**
+     * @param quarterTurns Number of 90 degree turns, positive to the right & negative to the left
+     * @return The direction after turning
+     */
+    public Direction turn(int quarterTurns) {
+        return VALUES[(ordinal() + quarterTurns) & 3];
+    }
+
+    public Direction right() {
+        return turn(1);
+    }
+
+    public Direction left() {
+        return turn(-1);
+    }
+
+    public Direction opposite() {
+        return turn(2);
+    }
+}
@@ -0,0 +1,588 @@
+package inf112.roborally.entities;
+
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.events.EventUtil;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.RobotEvent;
+import inf112.roborally.game.Zobrist;
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+import inf112.roborally.util.Coords;
+import inf112.roborally.util.Position;
+
+/**
+ * Represents the "robot"/playing piece the human player is associated with.
+ * <p>
+ * The rule state of the robot (position, direction, life, damage, flags & status) is not
+ * kept in fields, but in a block of {@link #STRIDE} ints. A robot on its own owns its block.
+ * Once it is added to a GameState, the block lives in the game's state array and this
+ * object is only a view over it, so a whole game can be copied with one array copy.
+ */
+public class Player {
+
+    /**
+     * Num. of program cards a robot executes each round.
+     */
+    public final static int MAX_SELECTED_CARDS = 5;
+
+    /**
+     * Offsets of the fields in a robot's block of state.
+     */
+    private static final int POS = 0;
+    private static final int BACKUP = 1;
+    private static final int DIR = 2;
+    private static final int LIFE = 3;
+    private static final int DAMAGE = 4;
+    private static final int FLAGS = 5;
+    private static final int STATUS = 6;
+
+    /**
+     * Number of ints in a robot's block of state.
+     */
+    public static final int STRIDE = 7;
+
+    /**
+     * Bits of the STATUS field.
+     */
+    private static final int DEAD = 1;
+    private static final int POWER_DOWN = 2;
+    private static final int POWER_DOWN_NEXT_ROUND = 4;
+
+    /**
+     * Player color
+     */
+    public final Color color;
+
+    /**
+     * Player ID
+     */
+    private final int id;
+
+    /**
+     * The array holding this robot's state, and the index of its block in it.
+     */
+    private int[] state;
+    private int base;
+
+
+    /**
+     * True if this player is a bot.
+     */
+    private final boolean bot;
+
+
+    /**
+     * Holds references to current program cards this robot has.
+     */
+    private ProgramCard[] selectedCards;
+
+    /**
+     * Holds references to the visible cards (human only).
+     */
+    private ProgramCard[] visibleCards;
+
+    /**
+     * The game this robot is part of, or null if it is not on a board.
+     * Used to keep the occupancy of the board up to date.
+     */
+    private GameState game;
+
+
+    public Player(Position pos, Color color, int id, boolean bot) {
+        this.bot = bot;
+        this.color = color;
+        this.id = id;
+        this.selectedCards = new ProgramCard[MAX_SELECTED_CARDS];
+
+        if (!bot)
+            visibleCards = new ProgramCard[9];
+        else
+            visibleCards = null;
+
+        this.state = new int[STRIDE];
+        this.base = 0;
+        state[POS] = Coords.fromPosition(pos);
+        state[BACKUP] = state[POS];
+        state[DIR] = Direction.NORTH.ordinal();
+        state[LIFE] = 3;
+    }
+
+    /**
+     * Creates a view of the same robot over a block in another game's state.
+     * Used when a GameState is copied. The robot is not placed on the board.
+     *
+     * @param other The robot to copy the ID, color & cards of
+     * @param game  The game the view belongs to
+     * @param state The state array of that game
+     * @param base  Index of this robot's block in the state array
+     */
+    public Player(Player other, GameState game, int[] state, int base) {
+        this.bot = other.bot;
+        this.color = other.color;
+        this.id = other.id;
+        this.selectedCards = other.selectedCards.clone();
+        this.visibleCards = other.visibleCards == null ? null : other.visibleCards.clone();
+        this.game = game;
+        this.state = state;
+        this.base = base;
+    }
+
+    public int selectedCards() {
+        int num = 0;
+        for (ProgramCard card : selectedCards)
+            if (card != null) num++;
+
+        return num;
+    }
+
+    /**
+     * Adds a card to the selected card pile
+     *
+     * @param index The index on the screen (0, 1 .. 8) of the card.
+     */
+    public void addCard(int index) {
+        for (int i = 0; i < MAX_SELECTED_CARDS; i++) {
+            if (selectedCards[i] == null) {
+                selectedCards[i] = visibleCards[index];  // Adding card to first spot available
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the selected cards
+     */
+    public void removeCards() {
+        for (int i = MAX_SELECTED_CARDS - 1; i > -1; i--) {
+            if (selectedCards[i] != null)
+                selectedCards[i] = null;
+        }
+    }
+
+    public boolean isBot() {
+        return this.bot;
+    }
+
+    public boolean isDead() {
+        return (state[base + STATUS] & DEAD) != 0;
+    }
+
+    /**
+     * @return player ID
+     */
+    public int getID() {
+        return id;
+    }
+
+    public void setDead(boolean dead) {
+        if (isDead() == dead)
+            return;
+
+        // Dead robots are taken off the board until they respawn
+        if (dead)
+            vacate();
+        setStatus(DEAD, dead);
+        if (!dead)
+            occupy();
+    }
+
+    /**
+     * Adds this robot to a game. Its state is moved into the game's state array at the given
+     * index, and the robot is placed on the board if it is alive.
+     *
+     * @param game  The game this robot is part of
+     * @param state The state array of the game
+     * @param base  Index of this robot's block in the state array
+     */
+    public void attach(GameState game, int[] state, int base) {
+        System.arraycopy(this.state, this.base, state, base, STRIDE);
+        this.state = state;
+        this.base = base;
+        this.game = game;
+        if (!isDead())
+            occupy();
+    }
+
+    public ProgramCard[] getSelectedCards() {
+        return this.selectedCards;
+    }
+
+    public void setSelectedCards(ProgramCard[] selectedCards) {
+        this.selectedCards = selectedCards;
+    }
+
+    /**
+     * Moves the player in a certain direction with specified num. of steps.
+     * Checks that the player can go on each tile for each step.
+     *
+     * @param game  The game with the board to move on
+     * @param dir   The direction to move 1 step towards
+     * @param steps Number of steps to take
+     */
+    public void move(GameState game, Direction dir, int steps) {
+        for (int i = 0; i < steps; i++) {
+            if (isDead()) {
+                return;
+            }
+            if (EventUtil.canGo(game, this, dir))
+                step(dir);
+            EventUtil.hole(game, this);
+        }
+    }
+
+    /**
+     * Pushes the robot one step, without checking for walls or other robots.
+     * Used when resolving a push chain, which has already been checked.
+     *
+     * @param game The game with the board to move on
+     * @param dir  The direction to be pushed in
+     */
+    public void push(GameState game, Direction dir) {
+        step(dir);
+        EventUtil.hole(game, this);
+    }
+
+    /**
+     * Carries the robot one step on a conveyor belt, and turns it if the belt turns.
+     *
+     * @param game     The game with the board to move on
+     * @param dir      The direction the belt moves in
+     * @param rotation 1 to turn right, -1 to turn left, 0 to keep the direction
+     */
+    public void convey(GameState game, Direction dir, int rotation) {
+        step(dir);
+        setDir(getDir().turn(rotation));
+        EventUtil.hole(game, this);
+    }
+
+    /**
+     * Moves the position one step, keeping the occupancy of the board up to date.
+     */
+    private void step(Direction dir) {
+        setPacked(Coords.step(state[base + POS], dir));
+    }
+
+    private void occupy() {
+        if (game != null)
+            game.getOccupancy().place(id, getX(), getY());
+    }
+
+    private void vacate() {
+        if (game != null)
+            game.getOccupancy().remove(id, getX(), getY());
+    }
+
+    public void rotate(boolean right) {
+        setDir(right ? getDir().right() : getDir().left());
+    }
+
+    public Direction getDir() {
+        return Direction.fromIndex(state[base + DIR]);
+    }
+
+    public void setDir(Direction direction) {
+        set(DIR, direction.ordinal());
+    }
+
+    public Direction getOppositeDir() {
+        return getDir().opposite();
+    }
+
+    public boolean hasAllFlags() {
+        return state[base + FLAGS] == 0xF;
+    }
+
+    /**
+     * Puts a dead robot back on the board at its backup, facing north.
+     * If another robot stands on the backup, the robot is put on the nearest free cell instead.
+     */
+    public void respawn() {
+        setDir(Direction.NORTH);
+        setPacked(game == null ? state[base + BACKUP] : game.respawnCell(state[base + BACKUP]));
+        setDead(false);
+    }
+
+
+    /**
+     * Rotates 2 x 90 degrees to the right= 180 degrees
+     */
+    public void rotate180() {
+        setDir(getDir().opposite());
+    }
+
+    /**
+     * Allocates a new Position, so the rules use {@link #getX()} & {@link #getY()} instead.
+     */
+    public Position getPos() {
+        return Coords.toPosition(state[base + POS]);
+    }
+
+    public int getX() {
+        return Coords.x(state[base + POS]);
+    }
+
+    public int getY() {
+        return Coords.y(state[base + POS]);
+    }
+
+    public void setPos(Position pos) {
+        setPacked(Coords.fromPosition(pos));
+    }
+
+    private void setPacked(int pos) {
+        boolean dead = isDead();
+        if (!dead)
+            vacate();
+        set(POS, pos);
+        if (!dead)
+            occupy();
+    }
+
+    /**
+     * @return x-coordinate of the backup, where the robot respawns
+     */
+    public int getBackupX() {
+        return Coords.x(state[base + BACKUP]);
+    }
+
+    public int getBackupY() {
+        return Coords.y(state[base + BACKUP]);
+    }
+
+    public void setBackup(Position backup) {
+        set(BACKUP, Coords.fromPosition(backup));
+    }
+
+    /**
+     * Sets the backup to the current position.
+     */
+    public void saveBackup() {
+        set(BACKUP, state[base + POS]);
+    }
+
+    /**
+     * remove one damage
+     */
+    public void heal() {
+        if (state[base + DAMAGE] > 0) {
+            set(DAMAGE, state[base + DAMAGE] - 1);
+        }
+    }
+
+    /**
+     * Removes one life, and takes the robot off the board until it respawns at the end of the round.
+     * If it was the last life, the game is told that the robot is destroyed.
+     */
+    public void subtractLife() {
+        set(LIFE, state[base + LIFE] - 1);
+        set(DAMAGE, 0);
+        setDead(true);
+        if (state[base + LIFE] <= 0 && game != null) {
+            game.robotDestroyed(this);
+        }
+    }
+
+    public int getDamage() {
+        return state[base + DAMAGE];
+    }
+
+    public int getLife() {
+        return state[base + LIFE];
+    }
+
+    /**
+     * add one damage
+     */
+    public void takeDamage() {
+        set(DAMAGE, state[base + DAMAGE] + 1);
+        if (state[base + DAMAGE] >= 10) {
+            subtractLife();
+            set(DAMAGE, 0);
+        }
+    }
+
+    public String status() {
+        String str = "";
+        if (isBot())
+            str = "BOT " + getID() + ": ";
+        else
+            str = "HUMAN: ";
+
+        str += "Life:" + getLife() + "  Damage:" + getDamage() + "  Flags:";
+
+        if (hasFlag(4))
+            str += "All";
+        else if (hasFlag(3))
+            str += "3";
+        else if (hasFlag(2))
+            str += "2";
+        else if (hasFlag(1))
+            str += "1";
+        else
+            str += "0";
+
+        return str;
+    }
+
+    /**
+     * @return A copy of the flags this robot has picked up, flag 1 at index 0
+     */
+    public boolean[] getFlags() {
+        boolean[] flags = new boolean[4];
+        for (int i = 0; i < flags.length; i++)
+            flags[i] = hasFlag(i + 1);
+
+        return flags;
+    }
+
+    /**
+     * @param flagNum Flag number, 1-4 (inclusive)
+     * @return True if this robot has picked up the flag
+     */
+    public boolean hasFlag(int flagNum) {
+        return (state[base + FLAGS] & (1 << (flagNum - 1))) != 0;
+    }
+
+    /**
+     * Adds a flag to the player inventory.
+     * Picking up the last flag wins the game.
+     *
+     * @param flagNum Flag number to add
+     * @throws IllegalArgumentException when flagNum is not 1-4 (inclusive)
+     */
+    public void addFlag(int flagNum) {
+        if (flagNum <= 0 || flagNum > 4)
+            throw new IllegalArgumentException("Flag number must be between 1-4 (inclusive).");
+
+        set(FLAGS, state[base + FLAGS] | 1 << (flagNum - 1));
+        if (flagNum == 4 && game != null)
+            game.robotWon(this);
+    }
+
+    /**
+     * Executes a Program Card.
+     *
+     * @param game The game with the board the robot is on
+     * @param card The card to execute
+     */
+    public void executeCard(GameState game, ProgramCard card) {
+        switch (card.getType()) {
+            case TURN_RIGHT:
+                this.rotate(true);
+                break;
+
+            case TURN_LEFT:
+                this.rotate(false);
+                break;
+
+            case TURN_U:
+                this.rotate180();
+                break;
+
+            case BACKUP:
+                this.move(game, this.getOppositeDir(), 1);
+                break;
+
+            case MOVE1:
+                this.move(game, this.getDir(), 1);
+                break;
+
+            case MOVE2:
+                this.move(game, this.getDir(), 2);
+                break;
+
+            case MOVE3:
+                this.move(game, this.getDir(), 3);
+                break;
+
+            default:
+                Log.get().log(Level.ERROR, LogEvent.UNKNOWN_CARD_TYPE, card.getType().name(), card.getPriority());
+
+        }
+    }
+
+    public boolean isPowerDown() {
+        return (state[base + STATUS] & POWER_DOWN) != 0;
+    }
+
+    public boolean getPowerDownNextRound() {
+        return (state[base + STATUS] & POWER_DOWN_NEXT_ROUND) != 0;
+    }
+
+    public void setPowerDown(boolean powerDown) {
+        set(DAMAGE, 0);
+        setStatus(POWER_DOWN, powerDown);
+    }
+    public void setPowerDownNextRound(boolean powerDown) {
+        setStatus(POWER_DOWN_NEXT_ROUND, powerDown);
+    }
+
+    private void setStatus(int bit, boolean on) {
+        set(STATUS, on ? state[base + STATUS] | bit : state[base + STATUS] & ~bit);
+    }
+
+    /**
+     * Writes a field of this robot's state. All writes go through here, so the hash of
+     * the game can be kept up to date.
+     */
+    private void set(int field, int value) {
+        int index = base + field;
+        int old = state[index];
+        if (old == value)
+            return;
+
+        state[index] = value;
+        if (game != null) {
+            game.updateHash(Zobrist.key(index, old) ^ Zobrist.key(index, value));
+            if (game.hasRobotListeners())
+                publish(field, old, value);
+        }
+    }
+
+    /**
+     * Tells the game's listeners what a write to a field has changed.
+     */
+    private void publish(int field, int old, int value) {
+        switch (field) {
+            case POS:
+                game.robotChanged(this, RobotEvent.MOVED);
+                break;
+
+            case DIR:
+                game.robotChanged(this, RobotEvent.ROTATED);
+                break;
+
+            case LIFE:
+            case DAMAGE:
+                game.robotChanged(this, RobotEvent.DAMAGED);
+                break;
+
+            case FLAGS:
+                if ((value & ~old) != 0)
+                    game.robotChanged(this, RobotEvent.FLAG_TAKEN);
+                break;
+
+            case STATUS:
+                if (((old ^ value) & DEAD) != 0)
+                    game.robotChanged(this, (value & DEAD) != 0 ? RobotEvent.DIED : RobotEvent.RESPAWNED);
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the visible cards for the human.
+     */
+    public ProgramCard[] getVisibleCards() {
+        if (bot) Log.get().log(Level.WARN, LogEvent.BOT_VISIBLE_CARDS, id);
+        return visibleCards;
+    }
+
+    public void setVisibleCards(ProgramCard[] visibleCards) {
+        if (bot) Log.get().log(Level.WARN, LogEvent.BOT_VISIBLE_CARDS, id);
+        this.visibleCards = visibleCards;
+    }
+}
@@ -0,0 +1,353 @@
+package inf112.roborally.events;
+
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.LaserTargets;
+import inf112.roborally.game.Occupancy;
+import inf112.roborally.util.Position;
+import inf112.roborally.board.Board;
+import inf112.roborally.board.ConveyorGraph;
+import inf112.roborally.board.LaserBeams;
+import inf112.roborally.board.TileType;
+
+/**
+ * Provides static methods for dealing with tile-events.
+ */
+public class EventUtil {
+
+    /**
+     * Target of a robot that is not carried by a conveyor belt.
+     */
+    private static final int STAYS = -2;
+
+    /**
+     * Handles an event on a current tile with a given map & player.
+     *
+     * @param game The game which holds the board & all robots
+     */
+    public static void handleEvent(GameState game) {
+        Board board = game.getBoard();
+        conveyors(game, 2);  // Express belts
+        conveyors(game, 1);  // All belts
+
+        for (Player player : game.getPlayers())
+            rotators(board, player);
+
+        lasers(game);
+
+        for (Player player : game.getPlayers()) {
+            flags(board, player);
+            repairs(board, player);
+        }
+    }
+
+
+    /**
+     * If player is on a hole or outside the board, subtract one life, which takes the robot off the board.
+     * A dead robot has already lost its life for the cell it stands on, so it is left alone.
+     *
+     * @param game   The game which holds the board & all robots
+     * @param player The player who stands on the tile
+     */
+    public static void hole(GameState game, Player player){
+        if (player.isDead())
+            return;
+        if (game.getBoard().getTileType("OEvents", player.getX(), player.getY()) == TileType.HOLE){
+            player.subtractLife();
+        } else if (outOfBounds(game.getBoard(), player)) {
+            player.subtractLife();
+        }
+    }
+
+    /**
+     * Moves every robot standing on a conveyor belt of at least the given speed one step,
+     * all at the same time. The order of the players does not matter.
+     * <p>
+     * A robot stays where it is if a wall blocks the belt, if another robot is carried to
+     * the same cell, or if the cell it is carried to holds a robot that does not move away.
+     * Robots carried onto a turning belt are rotated with it.
+     *
+     * @param game     The game which holds the board & all robots
+     * @param minSpeed 2 to move only robots on express belts, 1 to move robots on all belts
+     */
+    private static void conveyors(GameState game, int minSpeed) {
+        Board board = game.getBoard();
+        ConveyorGraph belts = board.getConveyors();
+        Occupancy occupancy = game.getOccupancy();
+        Player[] players = game.getPlayers();
+        int[] sources = game.getConveyorSources();
+        int[] targets = game.getConveyorTargets();
+        boolean[] blocked = game.getConveyorBlocked();
+        int[] arrivals = game.getConveyorArrivals();
+
+        // Where each robot is carried to
+        for (Player player : players) {
+            int id = player.getID();
+            int x = player.getX();
+            int y = player.getY();
+            targets[id] = STAYS;
+            blocked[id] = false;
+            if (player.isDead() || !board.isOnBoard(x, y))
+                continue;
+
+            int cell = y * board.getWidth() + x;
+            sources[id] = cell;
+            if (belts.getSpeed(cell) >= minSpeed && board.canCross(x, y, belts.getDirection(cell))) {
+                targets[id] = belts.getExit(cell);
+                if (targets[id] >= 0)
+                    arrivals[targets[id]]++;
+            }
+        }
+
+        // Robots carried to the same cell all stay
+        for (Player player : players) {
+            int id = player.getID();
+            if (targets[id] >= 0)
+                blocked[id] = arrivals[targets[id]] > 1;
+        }
+        for (Player player : players) {
+            int id = player.getID();
+            if (targets[id] >= 0)
+                arrivals[targets[id]] = 0;
+        }
+
+        // Robots carried into a robot that stays, or into a robot coming the other way, stay too
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Player player : players) {
+                int id = player.getID();
+                if (blocked[id] || targets[id] < 0)
+                    continue;
+
+                int occupant = occupancy.get(targets[id] % board.getWidth(), targets[id] / board.getWidth());
+                if (occupant == Occupancy.EMPTY)
+                    continue;
+
+                boolean occupantStays = targets[occupant] == STAYS || blocked[occupant];
+                if (occupantStays || targets[occupant] == sources[id]) {
+                    blocked[id] = true;
+                    changed = true;
+                }
+            }
+        }
+
+        // Taking all carried robots off their cells first, so none is put on a cell that is still being left
+        for (Player player : players) {
+            int id = player.getID();
+            if (targets[id] != STAYS && !blocked[id])
+                occupancy.remove(id, player.getX(), player.getY());
+        }
+        for (Player player : players) {
+            int id = player.getID();
+            if (targets[id] != STAYS && !blocked[id])
+                player.convey(game, belts.getDirection(sources[id]), belts.getRotation(sources[id]));
+        }
+    }
+
+    /**
+     * If player is on a gear it rotates the player 90 degrees in the direction of the gear
+     *  @param board  The current Board which holds all tiles
+     * @param player The player who stands on the tile
+     */
+    private static void rotators(Board board, Player player){
+        TileType events = board.getTileType("OEvents", player.getX(), player.getY());
+        switch (events) {
+            case FLOOR:
+                break;
+
+            case ROTATE_LEFT:
+                player.rotate(false);
+                break;
+
+            case ROTATE_RIGHT:
+                player.rotate(true);
+                break;
+        }
+    }
+
+    /**
+     * Fires all lasers at once. Each board laser hits the first robot in its beam, and each
+     * living robot fires forward, hitting the first robot in front of it before a wall.
+     * Damage is dealt after all lasers have fired.
+     *
+     * @param game The game which holds the board & all robots
+     */
+    private static void lasers(GameState game) {
+        Board board = game.getBoard();
+        LaserBeams beams = board.getLaserBeams();
+        LaserTargets targets = game.getLaserTargets();
+        Occupancy occupancy = game.getOccupancy();
+        Player[] players = game.getPlayers();
+        int[] damage = game.getLaserDamage();
+
+        for (Player player : players)
+            damage[player.getID()] = 0;
+
+        // Board lasers
+        for (int beam = 0; beam < beams.size(); beam++) {
+            int target = targets.getTarget(beam);
+            if (target != Occupancy.EMPTY)
+                damage[target] += beams.getStrength(beam);
+        }
+
+        // Robot lasers
+        for (Player player : players) {
+            if (player.isDead())
+                continue;
+
+            Direction dir = player.getDir();
+            int x = player.getX();
+            int y = player.getY();
+            while (board.isOnBoard(x, y) && board.canCross(x, y, dir)) {
+                x += dir.dx;
+                y += dir.dy;
+                int target = occupancy.get(x, y);
+                if (target != Occupancy.EMPTY) {
+                    damage[target]++;
+                    break;
+                }
+            }
+        }
+
+        for (Player player : players) {
+            for (int i = 0; i < damage[player.getID()]; i++)
+                player.takeDamage();
+        }
+    }
+
+    /**
+     * If player is on a flag and it is the right one, it "picks" it up
+     *  @param board  The current Board which holds all tiles
+     * @param player The player who stands on the tile
+     */
+    private static void flags(Board board, Player player){
+        TileType events = board.getTileType("OEvents", player.getX(), player.getY());
+        if (!events.isFlag())
+            return;
+
+        // Setting backup
+        player.saveBackup();
+
+        // Heal robot
+        if (player.getDamage() > 0)
+            player.heal();
+
+        switch (events) {
+            case FLAG1:
+                player.addFlag(1);
+                break;
+
+            case FLAG2:
+                if (player.hasFlag(1)) {
+                    player.addFlag(2);
+                    player.saveBackup();
+                }
+                break;
+
+            case FLAG3:
+                if (player.hasFlag(1) && player.hasFlag(2)) {
+                    player.addFlag(3);
+                    player.saveBackup();
+                }
+                break;
+
+            case FLAG4:
+                if (player.hasFlag(1) && player.hasFlag(2) && player.hasFlag(3))
+                    player.addFlag(4);
+                break;
+        }
+    }
+
+    /**
+     * If player is on a flag and it is the right one, it "picks" it up
+     *  @param board  The current Board which holds all tiles
+     * @param player The player who stands on the tile
+     */
+    private static void repairs(Board board, Player player){
+        TileType events = board.getTileType("OEvents", player.getX(), player.getY());
+        switch (events) {
+            case FLOOR:
+                break;
+
+            case SINGLE_WRENCH:
+                if(player.getDamage() > 0)
+                    player.heal();
+                player.saveBackup();
+                break;
+
+            case HAMMER_WRENCH:
+                //Also need to give an option card
+                if(player.getDamage() > 0) {
+                    player.heal();
+                }
+                player.saveBackup();
+                break;
+        }
+    }
+
+    /**
+     * @param board  The current Board which holds all tiles
+     * @param player The player who stands on the tile
+     * @return true/false if player is outside the board
+     */
+    private static boolean outOfBounds(Board board, Player player) {
+        return !board.isOnBoard(player.getX(), player.getY());
+    }
+
+    /**
+     * Checks if the player can move / be pushed in a certain direction, and pushes
+     * any robots in the way.
+     * E.g. false if player wants to move north but there is a wall there.
+     * <p>
+     * The push chain is collected in one walk from the player to the first empty cell,
+     * checking the wall on each edge in front of it. If no wall blocks the chain, the robots
+     * are pushed one step, starting with the one furthest ahead.
+     *
+     * @param game   The game which holds the board & all robots
+     * @param player Representing player, with it's direction
+     * @param dir    The direction to move in
+     * @return A boolean true if you can go in a specific direction
+     */
+    public static boolean canGo(GameState game, Player player, Direction dir) {
+        Board board = game.getBoard();
+        Occupancy occupancy = game.getOccupancy();
+        int[] chain = game.getPushChain();
+        int length = 0;
+
+        int x = player.getX();
+        int y = player.getY();
+        while (true) {
+            // Wall on the edge between this tile and the next
+            if (!board.canCross(x, y, dir))
+                return false;
+
+            x += dir.dx;
+            y += dir.dy;
+            int id = occupancy.get(x, y);
+            if (id == Occupancy.EMPTY || length == chain.length)
+                break;
+
+            chain[length++] = id;
+        }
+
+        for (int i = length - 1; i >= 0; i--)
+            game.getPlayer(chain[i]).push(game, dir);
+
+        return true;
+    }
+
+    /**
+     * Gets tile-type at a certain position.
+     * This is a constant-time lookup in the layer compiled by the Board.
+     *
+     * @param board The Board which holds the tiles
+     * @param layer Name of the object layer
+     * @param pos   Position of the cell
+     * @return The TileType at the pos, or NONE if there is none.
+     */
+    public static TileType getTileType(Board board, String layer, Position pos) {
+        return board.getTileType(layer, pos.getX(), pos.getY());
+    }
+}
@@ -0,0 +1,24 @@
+package inf112.roborally.game;
+
+import inf112.roborally.entities.Player;
+
+/**
+ * Gets told when a game is decided.
+ * Called on the thread that runs the game.
+ */
+public interface GameListener {
+
+    /**
+     * Called when a robot has picked up the last flag.
+     *
+     * @param player The robot that won
+     */
+    void robotWon(Player player);
+
+    /**
+     * Called when a robot has lost its last life.
+     *
+     * @param player The robot that was destroyed
+     */
+    void robotDestroyed(Player player);
+}
@@ -0,0 +1,419 @@
+package inf112.roborally.game;
+
+import inf112.roborally.entities.Player;
+import inf112.roborally.board.Board;
+import inf112.roborally.board.TileType;
+import inf112.roborally.util.Coords;
+
+import java.util.Arrays;
+
+/**
+ * The state of one game: the board, the robots on it and where they stand.
+ * <p>
+ * All rule state of a game lives here, so several games can run at once.
+ * A GameState is not thread-safe, each game must be run by one thread at a time.
+ * <p>
+ * The state of all robots is kept in one int array, one block of {@link Player#STRIDE}
+ * ints per robot in the order the robots were given, after a header holding the winner
+ * and the Zobrist hash of the rest of the array. The Player objects are views over their
+ * block. A game can therefore be copied, snapshot & compared by its state array alone.
+ */
+public class GameState {
+
+    /**
+     * Indexes of the high & low half of the hash, and of the winner's ID, in the state array.
+     * HEADER is the number of ints before the robots.
+     */
+    private static final int HASH_HIGH = 0;
+    private static final int HASH_LOW = 1;
+    private static final int WINNER = 2;
+    private static final int HEADER = 3;
+
+    private final Board board;
+
+    /**
+     * The winner & the state of every robot.
+     */
+    private final int[] state;
+
+    /**
+     * All robots in the game, in the order they were given.
+     */
+    private final Player[] players;
+
+    /**
+     * All robots in the game, indexed by their ID.
+     */
+    private final Player[] playersById;
+
+    private final Occupancy occupancy;
+
+    /**
+     * The robot each board laser hits, kept up to date through the occupancy.
+     */
+    private final LaserTargets laserTargets;
+
+    /**
+     * Reused buffer for the robots in a push chain.
+     */
+    private final int[] pushChain;
+
+    /**
+     * Reused buffers for moving all robots on conveyor belts at once, indexed by robot ID.
+     */
+    private final int[] conveyorSources;
+    private final int[] conveyorTargets;
+    private final boolean[] conveyorBlocked;
+
+    /**
+     * Reused buffer for the num. of robots carried to each cell, indexed by cell. All zero
+     * between conveyor phases.
+     */
+    private final int[] conveyorArrivals;
+
+    /**
+     * Reused buffer for the damage each robot takes in a laser phase, indexed by robot ID.
+     */
+    private final int[] laserDamage;
+
+    /**
+     * Told about the outcome of the game
+     */
+    private GameListener listener;
+
+    /**
+     * Told about each change to the robots
+     */
+    private RobotListener[] robotListeners = new RobotListener[0];
+
+
+    /**
+     * Creates a game with the given robots. The state of each robot is moved into this game,
+     * and the robot objects become views over it.
+     *
+     * @param board   The board to play on
+     * @param players The robots, with unique IDs
+     */
+    public GameState(Board board, Player[] players) {
+        this(board, players.clone(), new int[stateLength(players.length)], maxId(players) + 1);
+        state[WINNER] = -1;
+
+        for (int i = 0; i < players.length; i++) {
+            if (playersById[players[i].getID()] != null)
+                throw new IllegalArgumentException("Two robots with ID " + players[i].getID() + ".");
+
+            playersById[players[i].getID()] = players[i];
+            players[i].attach(this, state, HEADER + i * Player.STRIDE);
+        }
+        setHash(Zobrist.hash(state, WINNER));
+    }
+
+    /**
+     * Creates a copy of a game. The copy shares the board, but nothing else.
+     * The listeners are not copied.
+     *
+     * @param other The game to copy
+     */
+    public GameState(GameState other) {
+        this(other.board, new Player[other.players.length], other.state.clone(), other.playersById.length);
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(other.players[i], this, state, HEADER + i * Player.STRIDE);
+            playersById[players[i].getID()] = players[i];
+        }
+        placeRobots();
+    }
+
+    private GameState(Board board, Player[] players, int[] state, int idCount) {
+        this.board = board;
+        this.players = players;
+        this.state = state;
+        this.occupancy = new Occupancy(board.getWidth(), board.getHeight());
+        this.pushChain = new int[players.length];
+        this.laserTargets = new LaserTargets(board.getLaserBeams(), occupancy);
+        occupancy.setListener(laserTargets::invalidate);
+
+        playersById = new Player[idCount];
+        conveyorSources = new int[playersById.length];
+        conveyorTargets = new int[playersById.length];
+        conveyorBlocked = new boolean[playersById.length];
+        conveyorArrivals = new int[board.getWidth() * board.getHeight()];
+        laserDamage = new int[playersById.length];
+    }
+
+    /**
+     * @param robots Num. of robots
+     * @return Length of the state array of a game with that many robots
+     */
+    public static int stateLength(int robots) {
+        return HEADER + robots * Player.STRIDE;
+    }
+
+    private static int maxId(Player[] players) {
+        int maxId = -1;
+        for (Player player : players)
+            maxId = Math.max(maxId, player.getID());
+
+        return maxId;
+    }
+
+    /**
+     * Sets the listener told about the outcome of the game.
+     *
+     * @param listener The listener, or null to remove it
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a listener told about each change to the robots.
+     *
+     * @param listener The listener
+     */
+    public void addRobotListener(RobotListener listener) {
+        robotListeners = Arrays.copyOf(robotListeners, robotListeners.length + 1);
+        robotListeners[robotListeners.length - 1] = listener;
+    }
+
+    /**
+     * @param listener A listener added earlier
+     */
+    public void removeRobotListener(RobotListener listener) {
+        for (int i = 0; i < robotListeners.length; i++) {
+            if (robotListeners[i] == listener) {
+                RobotListener[] rest = new RobotListener[robotListeners.length - 1];
+                System.arraycopy(robotListeners, 0, rest, 0, i);
+                System.arraycopy(robotListeners, i + 1, rest, i, rest.length - i);
+                robotListeners = rest;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return True if anyone listens for changes to the robots
+     */
+    public boolean hasRobotListeners() {
+        return robotListeners.length > 0;
+    }
+
+    /**
+     * Called by a robot after it has changed.
+     *
+     * @param player The robot
+     * @param event  What changed
+     */
+    public void robotChanged(Player player, RobotEvent event) {
+        for (RobotListener robotListener : robotListeners)
+            robotListener.robotChanged(player, event);
+    }
+
+    /**
+     * Called by a robot when it has picked up the last flag.
+     * Only the first robot to do so wins the game.
+     *
+     * @param player The robot that won
+     */
+    public void robotWon(Player player) {
+        if (isOver())
+            return;
+
+        updateHash(Zobrist.key(WINNER, state[WINNER]) ^ Zobrist.key(WINNER, player.getID()));
+        state[WINNER] = player.getID();
+        robotChanged(player, RobotEvent.WON);
+        if (listener != null)
+            listener.robotWon(player);
+    }
+
+    /**
+     * Called by a robot when it has lost its last life.
+     *
+     * @param player The robot that was destroyed
+     */
+    public void robotDestroyed(Player player) {
+        robotChanged(player, RobotEvent.DESTROYED);
+        if (listener != null)
+            listener.robotDestroyed(player);
+    }
+
+    /**
+     * @return The robot that won, or null if no robot has won yet
+     */
+    public Player getWinner() {
+        return isOver() ? playersById[state[WINNER]] : null;
+    }
+
+    public boolean isOver() {
+        return state[WINNER] >= 0;
+    }
+
+    /**
+     * @return A copy of the state array. Restoring it undoes everything done since.
+     */
+    public int[] snapshot() {
+        return state.clone();
+    }
+
+    /**
+     * Copies the state array into a given array, so a search can take snapshots without allocating.
+     *
+     * @param target An array from an earlier snapshot of this game, or a copy of it
+     * @return The target
+     */
+    public int[] snapshot(int[] target) {
+        System.arraycopy(state, 0, target, 0, state.length);
+        return target;
+    }
+
+    /**
+     * Puts the game back in the state of a snapshot taken of this game or a copy of it.
+     * The listeners are not told about changes or outcomes in the snapshot.
+     *
+     * @param snapshot The snapshot to restore
+     */
+    public void restore(int[] snapshot) {
+        if (snapshot.length != state.length)
+            throw new IllegalArgumentException("Snapshot is of a game with another number of robots.");
+
+        System.arraycopy(snapshot, 0, state, 0, state.length);
+        occupancy.clear();
+        laserTargets.invalidateAll();
+        placeRobots();
+    }
+
+    /**
+     * Puts every living robot on the occupancy grid.
+     */
+    private void placeRobots() {
+        for (Player player : players)
+            if (!player.isDead())
+                occupancy.place(player.getID(), player.getX(), player.getY());
+    }
+
+    /**
+     * Finds where a robot respawns. That is its backup, unless another robot stands there, in
+     * which case it is the nearest free cell on the board that is not a hole.
+     * Cells are searched in rings around the backup, row by row, so the choice is always the same.
+     *
+     * @param backup The robot's backup, packed, see Coords
+     * @return The cell to respawn on, packed
+     */
+    public int respawnCell(int backup) {
+        int bx = Coords.x(backup);
+        int by = Coords.y(backup);
+        if (occupancy.get(bx, by) == Occupancy.EMPTY)
+            return backup;
+
+        int maxRadius = Math.max(board.getWidth(), board.getHeight());
+        for (int radius = 1; radius < maxRadius; radius++) {
+            for (int y = by - radius; y <= by + radius; y++) {
+                for (int x = bx - radius; x <= bx + radius; x++) {
+                    boolean onRing = Math.abs(x - bx) == radius || Math.abs(y - by) == radius;
+                    if (onRing && board.isOnBoard(x, y) && occupancy.get(x, y) == Occupancy.EMPTY
+                            && board.getTileType("OEvents", x, y) != TileType.HOLE)
+                        return Coords.pack(x, y);
+                }
+            }
+        }
+        throw new IllegalStateException("No free cell to respawn on.");
+    }
+
+    /**
+     * @return The Zobrist hash of the robots & winner, kept up to date as they change
+     */
+    public long getHash() {
+        return (long) state[HASH_HIGH] << 32 | (state[HASH_LOW] & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Called by a robot for each change to its state.
+     *
+     * @param delta The XOR of the keys of the old & new value
+     */
+    public void updateHash(long delta) {
+        setHash(getHash() ^ delta);
+    }
+
+    private void setHash(long hash) {
+        state[HASH_HIGH] = (int) (hash >>> 32);
+        state[HASH_LOW] = (int) hash;
+    }
+
+    /**
+     * Two games are equal if they are on the same board, and their robots & winner are equal.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+
+        GameState other = (GameState) o;
+        return board == other.board && Arrays.equals(state, other.state);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getHash());
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public Player[] getPlayers() {
+        return players;
+    }
+
+    /**
+     * @param id ID of the robot
+     * @return The robot with the given ID
+     */
+    public Player getPlayer(int id) {
+        return playersById[id];
+    }
+
+    public Occupancy getOccupancy() {
+        return occupancy;
+    }
+
+    public LaserTargets getLaserTargets() {
+        return laserTargets;
+    }
+
+    /**
+     * Buffer used while resolving a push chain. Never longer than the number of robots.
+     */
+    public int[] getPushChain() {
+        return pushChain;
+    }
+
+    /**
+     * Buffers used while resolving a conveyor phase, indexed by robot ID.
+     */
+    public int[] getConveyorSources() {
+        return conveyorSources;
+    }
+
+    public int[] getConveyorTargets() {
+        return conveyorTargets;
+    }
+
+    public boolean[] getConveyorBlocked() {
+        return conveyorBlocked;
+    }
+
+    /**
+     * Buffer used while resolving a conveyor phase, indexed by cell. Must be all zero again
+     * when the phase ends.
+     */
+    public int[] getConveyorArrivals() {
+        return conveyorArrivals;
+    }
+
+    /**
+     * Buffer used while resolving a laser phase, indexed by robot ID.
+     */
+    public int[] getLaserDamage() {
+        return laserDamage;
+    }
+}
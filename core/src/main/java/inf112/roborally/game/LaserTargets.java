@@ -0,0 +1,68 @@
+package inf112.roborally.game;
+
+import inf112.roborally.board.LaserBeams;
+
+import java.util.Arrays;
+
+/**
+ * Caches which robot each board laser hits in one game.
+ * A beam is only traced again after a robot has entered or left one of its cells.
+ */
+public class LaserTargets {
+
+    private final LaserBeams beams;
+    private final Occupancy occupancy;
+
+    /**
+     * The robot hit by each beam, or Occupancy.EMPTY.
+     */
+    private final int[] target;
+    private final boolean[] dirty;
+
+
+    public LaserTargets(LaserBeams beams, Occupancy occupancy) {
+        this.beams = beams;
+        this.occupancy = occupancy;
+        this.target = new int[beams.size()];
+        this.dirty = new boolean[beams.size()];
+
+        for (int beam = 0; beam < beams.size(); beam++)
+            dirty[beam] = true;
+    }
+
+    /**
+     * Marks the beams covering a cell as changed.
+     *
+     * @param cell Index of the cell a robot entered or left
+     */
+    public void invalidate(int cell) {
+        for (int beam : beams.getBeamsAt(cell))
+            dirty[beam] = true;
+    }
+
+    /**
+     * Marks all beams as changed.
+     */
+    public void invalidateAll() {
+        Arrays.fill(dirty, true);
+    }
+
+    /**
+     * @param beam The beam
+     * @return The ID of the first robot in the beam, or Occupancy.EMPTY if it hits no robot
+     */
+    public int getTarget(int beam) {
+        if (dirty[beam]) {
+            target[beam] = Occupancy.EMPTY;
+            for (int i = 0; i < beams.getLength(beam); i++) {
+                int id = occupancy.get(beams.getCell(beam, i));
+                if (id != Occupancy.EMPTY) {
+                    target[beam] = id;
+                    break;
+                }
+            }
+            dirty[beam] = false;
+        }
+        return target[beam];
+    }
+}
@@ -0,0 +1,104 @@
+package inf112.roborally.game;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Keeps track of which robot stands on each cell of the board.
+ * Only living robots on the board are stored.
+ */
+public class Occupancy {
+
+    /**
+     * Value of a cell without a robot.
+     */
+    public static final int EMPTY = -1;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * Robot ID per cell, indexed by y * width + x.
+     */
+    private final int[] cells;
+
+    /**
+     * Called with the index of a cell each time a robot enters or leaves it.
+     */
+    private IntConsumer listener;
+
+
+    public Occupancy(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = new int[width * height];
+        Arrays.fill(cells, EMPTY);
+    }
+
+    /**
+     * @return The ID of the robot at (x, y), or EMPTY if there is none or the cell is outside the board
+     */
+    public int get(int x, int y) {
+        if (!contains(x, y))
+            return EMPTY;
+
+        return cells[y * width + x];
+    }
+
+    /**
+     * @param cell Index of the cell, y * width + x
+     * @return The ID of the robot on the cell, or EMPTY if there is none
+     */
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Sets a listener that is told about each cell a robot enters or leaves.
+     *
+     * @param listener Called with the index of the changed cell, or null to remove it
+     */
+    public void setListener(IntConsumer listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Puts a robot on a cell. Does nothing if the cell is outside the board.
+     *
+     * @throws IllegalStateException if another robot stands on the cell
+     */
+    public void place(int id, int x, int y) {
+        if (!contains(x, y))
+            return;
+        if (cells[y * width + x] != EMPTY && cells[y * width + x] != id)
+            throw new IllegalStateException("Robot " + cells[y * width + x] + " already stands on ("
+                    + x + ", " + y + "), robot " + id + " cannot be placed there.");
+
+        cells[y * width + x] = id;
+        if (listener != null)
+            listener.accept(y * width + x);
+    }
+
+    /**
+     * Removes a robot from a cell, if that robot is the one standing there.
+     */
+    public void remove(int id, int x, int y) {
+        if (!contains(x, y) || cells[y * width + x] != id)
+            return;
+
+        cells[y * width + x] = EMPTY;
+        if (listener != null)
+            listener.accept(y * width + x);
+    }
+
+    /**
+     * Removes all robots. The listener is not told, as every cell may have changed.
+     */
+    public void clear() {
+        Arrays.fill(cells, EMPTY);
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
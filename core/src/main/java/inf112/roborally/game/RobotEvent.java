@@ -0,0 +1,39 @@
+package inf112.roborally.game;
+
+/**
+ * The kinds of change to a robot that a {@link RobotListener} is told about.
+ */
+public enum RobotEvent {
+    /**
+     * The robot is on another cell.
+     */
+    MOVED,
+    /**
+     * The robot faces another direction.
+     */
+    ROTATED,
+    /**
+     * The robot's damage or lives have changed.
+     */
+    DAMAGED,
+    /**
+     * The robot has picked up a flag.
+     */
+    FLAG_TAKEN,
+    /**
+     * The robot has been taken off the board.
+     */
+    DIED,
+    /**
+     * The robot is back on the board.
+     */
+    RESPAWNED,
+    /**
+     * The robot has won the game.
+     */
+    WON,
+    /**
+     * The robot has lost its last life.
+     */
+    DESTROYED
+}
@@ -0,0 +1,16 @@
+package inf112.roborally.game;
+
+import inf112.roborally.entities.Player;
+
+/**
+ * Gets told about each change to the robots of a game, e.g. to redraw only what changed.
+ * Called on the thread that runs the game, right after the change.
+ */
+public interface RobotListener {
+
+    /**
+     * @param player The robot that changed
+     * @param event  What changed
+     */
+    void robotChanged(Player player, RobotEvent event);
+}
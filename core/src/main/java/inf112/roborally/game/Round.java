@@ -0,0 +1,38 @@
+package inf112.roborally.game;
+
+import inf112.roborally.entities.Player;
+import inf112.roborally.events.EventUtil;
+
+/**
+ * Plays the programs of a round: one register at a time, the cards of each register in order
+ * of priority, then the board.
+ */
+public class Round {
+
+    /**
+     * Plays one register of a planned round. Robots play their card for the register in order
+     * of priority, lowest first. Robots without a card, or that died earlier in the round, skip
+     * the register. The board acts once all cards are played.
+     *
+     * @param game     The game which holds the board & all robots
+     * @param schedule The round, planned for the game
+     * @param register Index of the register, 0 to Player.MAX_SELECTED_CARDS - 1
+     */
+    public static void playRegister(GameState game, Schedule schedule, int register) {
+        for (int step = schedule.registerStart(register); step < schedule.registerEnd(register); step++)
+            schedule.play(game, step);
+        EventUtil.handleEvent(game);
+    }
+
+    /**
+     * Plans the round and plays all registers, stopping early if the game is won.
+     *
+     * @param game     The game which holds the board & all robots
+     * @param schedule Schedule to plan the round in, reused between rounds
+     */
+    public static void playAll(GameState game, Schedule schedule) {
+        schedule.plan(game);
+        for (int register = 0; register < Player.MAX_SELECTED_CARDS && !game.isOver(); register++)
+            playRegister(game, schedule, register);
+    }
+}
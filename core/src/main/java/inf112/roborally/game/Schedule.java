@@ -0,0 +1,181 @@
+package inf112.roborally.game;
+
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Player;
+
+import java.util.Arrays;
+
+/**
+ * The order the cards of a round are played in: register by register, and within a register
+ * by priority, lowest first.
+ * <p>
+ * Priorities are unique multiples of 10 from 10 to 840, so every card has its own bucket in
+ * a table of ProgramCard.COUNT slots, and the whole round is sorted in one pass over it.
+ * The plan is kept as arrays of robot ids and card ids (priority / 10 - 1, the id of a card of
+ * the standard deck). A schedule is reused round after round, and planning allocates nothing
+ * unless more robots join the game.
+ */
+public class Schedule {
+
+    /**
+     * Robot id + 1 of the card with each priority, 0 if no robot holds it.
+     */
+    private final int[] bucketRobot = new int[ProgramCard.COUNT];
+    private final int[] bucketRegister = new int[ProgramCard.COUNT];
+
+    /**
+     * The steps of register r are start[r] .. start[r + 1] - 1.
+     */
+    private final int[] start = new int[Player.MAX_SELECTED_CARDS + 1];
+    private final int[] next = new int[Player.MAX_SELECTED_CARDS];
+
+    private int[] robots = new int[0];
+    private int[] cards = new int[0];
+
+    /**
+     * Plans the round from the cards the robots have selected.
+     * Dead robots and empty registers get no steps.
+     *
+     * @param game The game which holds all robots
+     * @throws IllegalArgumentException if a priority is not one of a standard deck, or held twice
+     */
+    public void plan(GameState game) {
+        Player[] players = game.getPlayers();
+        int capacity = players.length * Player.MAX_SELECTED_CARDS;
+        if (robots.length < capacity) {
+            robots = new int[capacity];
+            cards = new int[capacity];
+        }
+
+        // Putting every card in the bucket of its priority, counting the cards per register
+        Arrays.fill(start, 0);
+        try {
+            fillBuckets(players);
+        } catch (IllegalArgumentException e) {
+            // Leaving the buckets empty for the next plan
+            clearBuckets();
+            throw e;
+        }
+
+        for (int register = 0; register < Player.MAX_SELECTED_CARDS; register++) {
+            start[register + 1] += start[register];
+            next[register] = start[register];
+        }
+
+        // Emptying the buckets in order of priority
+        for (int slot = 0; slot < ProgramCard.COUNT; slot++) {
+            if (bucketRobot[slot] == 0)
+                continue;
+
+            int step = next[bucketRegister[slot]]++;
+            robots[step] = bucketRobot[slot] - 1;
+            cards[step] = slot;
+            bucketRobot[slot] = 0;
+        }
+    }
+
+    private void fillBuckets(Player[] players) {
+        for (Player player : players) {
+            if (player == null || player.isDead())
+                continue;
+
+            ProgramCard[] selected = player.getSelectedCards();
+            for (int register = 0; register < Player.MAX_SELECTED_CARDS; register++) {
+                if (selected[register] == null)
+                    continue;
+
+                int slot = slot(selected[register].getPriority());
+                if (bucketRobot[slot] != 0)
+                    throw new IllegalArgumentException("Two cards have priority " + selected[register].getPriority() + ".");
+                bucketRobot[slot] = player.getID() + 1;
+                bucketRegister[slot] = register;
+                start[register + 1]++;
+            }
+        }
+    }
+
+    private void clearBuckets() {
+        Arrays.fill(bucketRobot, 0);
+    }
+
+    private static int slot(int priority) {
+        if (priority < 10 || priority > ProgramCard.COUNT * 10 || priority % 10 != 0)
+            throw new IllegalArgumentException("Priority " + priority + " is not one of a standard deck.");
+        return priority / 10 - 1;
+    }
+
+    /**
+     * @return Num. of steps in the round
+     */
+    public int size() {
+        return start[Player.MAX_SELECTED_CARDS];
+    }
+
+    /**
+     * @param register Index of the register
+     * @return The first step of the register
+     */
+    public int registerStart(int register) {
+        return start[register];
+    }
+
+    /**
+     * @param register Index of the register
+     * @return The step after the last step of the register
+     */
+    public int registerEnd(int register) {
+        return start[register + 1];
+    }
+
+    /**
+     * @param step Index of the step
+     * @return The register the step belongs to
+     */
+    public int getRegister(int step) {
+        int register = 0;
+        while (step >= start[register + 1])
+            register++;
+        return register;
+    }
+
+    /**
+     * @param step Index of the step
+     * @return Id of the robot playing the step
+     */
+    public int getRobot(int step) {
+        return robots[step];
+    }
+
+    /**
+     * @param step Index of the step
+     * @return Id of the card played, see {@link ProgramCard#fromId(int)}
+     */
+    public int getCardId(int step) {
+        return cards[step];
+    }
+
+    /**
+     * @param game The game which holds all robots
+     * @param step Index of the step
+     * @return The card played in the step
+     */
+    public ProgramCard getCard(GameState game, int step) {
+        return game.getPlayer(robots[step]).getSelectedCards()[getRegister(step)];
+    }
+
+    /**
+     * Plays a step, unless the robot has died earlier in the round.
+     *
+     * @param game The game which holds the board & all robots
+     * @param step Index of the step
+     * @return True if the card was played
+     */
+    public boolean play(GameState game, int step) {
+        Player player = game.getPlayer(robots[step]);
+        if (player.isDead())
+            return false;
+
+        player.executeCard(game, getCard(game, step));
+        return true;
+    }
+}
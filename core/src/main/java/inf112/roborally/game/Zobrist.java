@@ -0,0 +1,51 @@
+package inf112.roborally.game;
+
+/**
+ * Zobrist keys for the state array of a GameState.
+ * <p>
+ * The hash of a game is the XOR of one key per (index, value) in its state array, so a write
+ * updates it with two XORs. Instead of a table of random keys, each key is the SplitMix64
+ * mix of its index & value, which behaves like a random table without bounding the values
+ * (positions off the board, damage, ...).
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param index Index in the state array
+     * @param value Value at that index
+     * @return The key of the value at the index
+     */
+    public static long key(int index, int value) {
+        return mix(((long) index << 32 | (value & 0xFFFFFFFFL)) ^ SEED);
+    }
+
+    /**
+     * Hashes a state array from scratch.
+     *
+     * @param state The state array
+     * @param from  First index to hash
+     * @return The XOR of the keys of all values from the given index
+     */
+    public static long hash(int[] state, int from) {
+        long hash = 0;
+        for (int i = from; i < state.length; i++)
+            hash ^= key(i, state[i]);
+
+        return hash;
+    }
+
+    /**
+     * The finalizer of SplitMix64.
+     */
+    public static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
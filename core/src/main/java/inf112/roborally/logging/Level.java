@@ -0,0 +1,16 @@
+package inf112.roborally.logging;
+
+/**
+ * Severity of a log record. A logger writes the records at or above its level.
+ */
+public enum Level {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    /**
+     * Writes nothing, only used as the level of a logger.
+     */
+    OFF
+}
@@ -0,0 +1,67 @@
+package inf112.roborally.logging;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The game's logger, shared by all classes.
+ * <p>
+ * Writes to standard error, or to the file named by the system property roborally.log.file.
+ * The level is INFO unless set by the system property roborally.log.level, e.g. debug to
+ * trace every card played. An unknown level is reported and ignored.
+ */
+public class Log {
+
+    private static final int CAPACITY = 8192;
+
+    private static final RingLogger LOGGER = create();
+
+    private Log() {
+    }
+
+    private static RingLogger create() {
+        Level level = parseLevel(System.getProperty("roborally.log.level"));
+
+        Writer out = null;
+        String path = System.getProperty("roborally.log.file");
+        if (path != null) {
+            try {
+                out = new OutputStreamWriter(new FileOutputStream(path, true), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                System.err.println("Could not open log file " + path + ", logging to standard error: " + e.getMessage());
+            }
+        }
+        if (out == null)
+            out = new OutputStreamWriter(System.err, StandardCharsets.UTF_8);
+
+        final RingLogger logger = new RingLogger(CAPACITY, level, out);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.flush(1000)));
+        return logger;
+    }
+
+    /**
+     * @return The level named by the value, in any case, or INFO if it is null or not a level
+     */
+    private static Level parseLevel(String value) {
+        if (value == null)
+            return Level.INFO;
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level " + value + ", logging at INFO");
+            return Level.INFO;
+        }
+    }
+
+    public static RingLogger get() {
+        return LOGGER;
+    }
+
+    public static boolean isEnabled(Level level) {
+        return LOGGER.isEnabled(level);
+    }
+}
@@ -0,0 +1,53 @@
+package inf112.roborally.logging;
+
+/**
+ * The kinds of record the game logs, with the names of their numeric fields.
+ * Records are written as JSON lines, e.g. {"t":1589112000123,"level":"DEBUG","event":"CARD_EXECUTED","robot":1,"priority":420,"text":"MOVE2"}.
+ */
+public enum LogEvent {
+    GAME_STARTED("seed"),
+    GAME_RESUMED("seed", "round"),
+    PHASE("phase"),
+    POWER_DOWN("robot", "on"),
+    HUMAN_PROGRAM("card0", "card1", "card2", "card3", "card4"),
+    CARD_EXECUTED("robot", "priority"),
+    DEAD_ROBOT_SKIPPED("robot"),
+    RESPAWNED("robot"),
+    CARD_LIMIT("max"),
+    LOCK_IN_REJECTED("selected"),
+    UNKNOWN_CARD_TYPE("priority"),
+    BOT_VISIBLE_CARDS("robot"),
+    UNKNOWN_TILE(),
+    LAYER_NOT_FOUND(),
+    UNKNOWN_DIALOG_RESULT(),
+    SESSION_STARTED("session", "robots", "humans"),
+    SESSION_ENDED("session", "winner", "rounds"),
+    IO_ERROR();
+
+    /**
+     * Max. num. of numeric fields of a record.
+     */
+    public static final int MAX_FIELDS = 5;
+
+    private final String[] fields;
+
+    LogEvent(String... fields) {
+        if (fields.length > MAX_FIELDS)
+            throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields.");
+        this.fields = fields;
+    }
+
+    /**
+     * @return Num. of numeric fields
+     */
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * @return Name of the numeric field at the index
+     */
+    public String getField(int index) {
+        return fields[index];
+    }
+}
@@ -0,0 +1,279 @@
+package inf112.roborally.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A logger that writes fixed-size records into a preallocated ring, and a background thread
+ * that drains the ring to a writer as JSON lines.
+ * <p>
+ * Logging takes a slot of the ring with one compare-and-set, stores the record in it and
+ * publishes it, so it never blocks on I/O and allocates nothing. Any thread may log. When
+ * the ring is full, records are dropped and counted rather than stalling the game. A record
+ * has an event, up to {@link LogEvent#MAX_FIELDS} numbers and an optional text, which should
+ * be an existing string (a constant or enum name) so that building it allocates nothing.
+ */
+public class RingLogger implements AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int mask;
+    private final long[] times;
+    private final Level[] levels;
+    private final LogEvent[] events;
+    private final long[] values;
+    private final String[] texts;
+
+    /**
+     * Sequence of the record in each slot, set once the record is written.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * Next sequence to take, and next sequence to drain.
+     */
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail = 0;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile Level level;
+    private final Writer out;
+    private final Thread drainer;
+    private volatile boolean closed = false;
+
+    /**
+     * Set while the drain thread is parked on an empty ring, so loggers know to wake it.
+     */
+    private volatile boolean idle = false;
+
+    /**
+     * Reused by the drain thread to build lines.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+
+    /**
+     * Starts a logger, with its drain thread.
+     *
+     * @param capacity Num. of records the ring holds, rounded up to a power of two
+     * @param level    The least severe level written
+     * @param out      Where the records are written. Closed with the logger.
+     */
+    public RingLogger(int capacity, Level level, Writer out) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.times = new long[size];
+        this.levels = new Level[size];
+        this.events = new LogEvent[size];
+        this.values = new long[size * LogEvent.MAX_FIELDS];
+        this.texts = new String[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++)
+            published.set(i, -1);
+
+        this.level = level;
+        this.out = out;
+        this.drainer = new Thread(this::drainLoop, "log-drain");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * @return True if records of the level are written. Check it before building a costly record.
+     */
+    public boolean isEnabled(Level level) {
+        return level.compareTo(this.level) >= 0 && level != Level.OFF;
+    }
+
+    /**
+     * @return Num. of records dropped because the ring was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public void log(Level level, LogEvent event, String text) {
+        log(level, event, text, 0, 0, 0, 0, 0);
+    }
+
+    public void log(Level level, LogEvent event, long a) {
+        log(level, event, null, a, 0, 0, 0, 0);
+    }
+
+    public void log(Level level, LogEvent event, long a, long b) {
+        log(level, event, null, a, b, 0, 0, 0);
+    }
+
+    public void log(Level level, LogEvent event, String text, long a) {
+        log(level, event, text, a, 0, 0, 0, 0);
+    }
+
+    public void log(Level level, LogEvent event, String text, long a, long b) {
+        log(level, event, text, a, b, 0, 0, 0);
+    }
+
+    /**
+     * Logs a record. Fields beyond the event's field count are ignored.
+     *
+     * @param level Severity of the record
+     * @param event Kind of record
+     * @param text  Optional text, or null
+     */
+    public void log(Level level, LogEvent event, String text, long a, long b, long c, long d, long e) {
+        if (!isEnabled(level) || closed)
+            return;
+
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail > mask) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(seq, seq + 1));
+
+        int slot = (int) (seq & mask);
+        int base = slot * LogEvent.MAX_FIELDS;
+        times[slot] = System.currentTimeMillis();
+        levels[slot] = level;
+        events[slot] = event;
+        texts[slot] = text;
+        values[base] = a;
+        values[base + 1] = b;
+        values[base + 2] = c;
+        values[base + 3] = d;
+        values[base + 4] = e;
+        published.set(slot, seq);
+        if (idle)
+            LockSupport.unpark(drainer);
+    }
+
+    /**
+     * Drains until closed. When the ring is empty the thread parks, backing off up to
+     * {@link #MAX_IDLE_PARK_NANOS}, and the next record logged wakes it.
+     */
+    private void drainLoop() {
+        long parkNanos = IDLE_PARK_NANOS;
+        while (true) {
+            boolean finished = closed;
+            if (drain()) {
+                parkNanos = IDLE_PARK_NANOS;
+                continue;
+            }
+            if (finished)
+                return;
+
+            // Check again once idle is set, or a record published just before would not wake us
+            idle = true;
+            if (drain()) {
+                parkNanos = IDLE_PARK_NANOS;
+            } else if (!closed) {
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+    }
+
+    /**
+     * Writes all published records in order.
+     *
+     * @return True if any were written
+     */
+    private boolean drain() {
+        boolean wrote = false;
+        try {
+            long seq = tail;
+            while (published.get((int) (seq & mask)) == seq) {
+                write((int) (seq & mask));
+                seq++;
+                tail = seq;
+                wrote = true;
+            }
+            if (wrote)
+                out.flush();
+        } catch (IOException e) {
+            // Nowhere left to log to, so the records are dropped
+            dropped.incrementAndGet();
+        }
+        return wrote;
+    }
+
+    private void write(int slot) throws IOException {
+        LogEvent event = events[slot];
+        line.setLength(0);
+        line.append("{\"t\":").append(times[slot])
+                .append(",\"level\":\"").append(levels[slot].name())
+                .append("\",\"event\":\"").append(event.name()).append('"');
+        for (int i = 0; i < event.getFieldCount(); i++)
+            line.append(",\"").append(event.getField(i)).append("\":").append(values[slot * LogEvent.MAX_FIELDS + i]);
+        if (texts[slot] != null)
+            appendString(line.append(",\"text\":"), texts[slot]);
+        line.append("}\n");
+
+        texts[slot] = null;
+        out.append(line);
+    }
+
+    private static void appendString(StringBuilder line, String text) {
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\')
+                line.append('\\').append(c);
+            else if (c == '\n')
+                line.append("\\n");
+            else if (c < ' ')
+                line.append(' ');
+            else
+                line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Waits until all records logged so far are written.
+     *
+     * @param timeoutMillis Max. time to wait
+     * @return True if they were written in time
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = head.get();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (tail < target) {
+            if (System.currentTimeMillis() > deadline)
+                return false;
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Stops logging, writes the records left in the ring and closes the writer.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+    }
+}
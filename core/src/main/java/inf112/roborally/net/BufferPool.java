@@ -0,0 +1,58 @@
+package inf112.roborally.net;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Direct buffers of one size, reused so connections do not allocate buffers as they come & go.
+ * Direct buffers are slow to allocate but are written to sockets without a copy.
+ * Not thread-safe, a pool belongs to the thread of one server.
+ */
+class BufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+    /**
+     * Num. of buffers handed out & not given back.
+     */
+    private int inUse = 0;
+
+    /**
+     * @param bufferSize Size of each buffer in bytes
+     * @param maxPooled  Max. num. of free buffers to keep, the rest are left to the GC
+     */
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * @return A cleared buffer
+     */
+    ByteBuffer acquire() {
+        inUse++;
+        ByteBuffer buffer = free.pollLast();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Gives a buffer back. It must not be used after.
+     */
+    void release(ByteBuffer buffer) {
+        inUse--;
+        if (free.size() < maxPooled) {
+            buffer.clear();
+            free.addLast(buffer);
+        }
+    }
+
+    int getInUse() {
+        return inUse;
+    }
+
+    int getFree() {
+        return free.size();
+    }
+}
@@ -0,0 +1,130 @@
+package inf112.roborally.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Collection;
+
+/**
+ * A client of a GameServer: its socket, the bytes received but not handled yet, and the
+ * frames queued to send. Frames are copied into pooled buffers and sent together when the
+ * server flushes, so the registers of a round go out in one write.
+ */
+class Connection {
+
+    /**
+     * Max. num. of buffers queued for a client that does not read, before it is dropped.
+     */
+    private static final int MAX_QUEUED = 64;
+
+    final SocketChannel channel;
+    final SelectionKey key;
+
+    /**
+     * Received bytes, in write mode between reads.
+     */
+    final ByteBuffer in;
+
+    /**
+     * Buffers to send, all in write mode. Only the last one is still being filled.
+     */
+    private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+
+    private final BufferPool pool;
+
+    /**
+     * The server's connections with frames to send, this one is added on its first frame.
+     */
+    private final Collection<Connection> pending;
+    private boolean isPending = false;
+
+    /**
+     * Set when the client stops reading and its queue is full. The server then drops it.
+     */
+    private boolean overflowed = false;
+
+    /**
+     * The session the client plays in and its robot, or null & -1.
+     */
+    Session session;
+    int robot = -1;
+
+
+    Connection(SocketChannel channel, SelectionKey key, BufferPool pool, Collection<Connection> pending) {
+        this.channel = channel;
+        this.key = key;
+        this.pool = pool;
+        this.pending = pending;
+        this.in = pool.acquire();
+    }
+
+    /**
+     * Queues a frame to send on the next flush. If the queue is full, the client is marked as
+     * overflowed instead, to be dropped by the server once it is done handling the event.
+     *
+     * @param frame A whole frame, in read mode. It is not changed.
+     */
+    void send(ByteBuffer frame) {
+        if (overflowed)
+            return;
+
+        ByteBuffer tail = out.peekLast();
+        if (tail == null || tail.remaining() < frame.remaining()) {
+            if (out.size() == MAX_QUEUED) {
+                overflowed = true;
+            } else {
+                tail = pool.acquire();
+                out.addLast(tail);
+            }
+        }
+        if (!overflowed)
+            tail.put(frame.duplicate());
+
+        if (!isPending) {
+            isPending = true;
+            pending.add(this);
+        }
+    }
+
+    boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * Writes as much as the socket takes, and waits for it to be writable if anything is left.
+     *
+     * @throws IOException if the socket could not be written
+     */
+    void flush() throws IOException {
+        isPending = false;
+        while (!out.isEmpty()) {
+            ByteBuffer head = out.peekFirst();
+            head.flip();
+            channel.write(head);
+            if (head.hasRemaining()) {
+                head.compact();
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            pool.release(out.pollFirst());
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * Gives the buffers back to the pool and closes the socket.
+     */
+    void close() {
+        pool.release(in);
+        while (!out.isEmpty())
+            pool.release(out.pollFirst());
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Closed anyway
+        }
+    }
+}
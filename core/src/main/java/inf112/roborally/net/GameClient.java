@@ -0,0 +1,86 @@
+package inf112.roborally.net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A blocking client of a GameServer, e.g. for tests & load tools. Not thread-safe.
+ */
+public class GameClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(4096);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(Protocol.MAX_FRAME);
+
+
+    /**
+     * @param address Address of the server
+     * @throws IOException if the server could not be reached
+     */
+    public GameClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        in.flip();
+    }
+
+    /**
+     * Starts a session, which the client joins first.
+     *
+     * @param robots Num. of robots
+     * @param humans Num. of robots played by clients
+     */
+    public void create(int robots, int humans) throws IOException {
+        send(Protocol.begin(out, Protocol.CREATE).put((byte) robots).put((byte) humans));
+    }
+
+    /**
+     * @param session Id of the session to join
+     */
+    public void join(int session) throws IOException {
+        send(Protocol.begin(out, Protocol.JOIN).putInt(session));
+    }
+
+    /**
+     * @param round   The round the program is for
+     * @param program Ids of Player.MAX_SELECTED_CARDS cards from the hand, in the order to play them
+     */
+    public void program(int round, int[] program) throws IOException {
+        ByteBuffer frame = Protocol.begin(out, Protocol.PROGRAM).putInt(round);
+        for (int id : program)
+            frame.put((byte) id);
+        send(frame);
+    }
+
+    private void send(ByteBuffer frame) throws IOException {
+        Protocol.end(frame);
+        while (frame.hasRemaining())
+            channel.write(frame);
+    }
+
+    /**
+     * Waits for the next message.
+     *
+     * @return The message, positioned at its type byte. It is only valid until the next read.
+     * @throws EOFException if the server closed the connection
+     */
+    public ByteBuffer read() throws IOException {
+        ByteBuffer message;
+        while ((message = Protocol.next(in)) == null) {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0)
+                throw new EOFException("The server closed the connection.");
+        }
+        return message;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
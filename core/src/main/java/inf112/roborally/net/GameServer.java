@@ -0,0 +1,348 @@
+package inf112.roborally.net;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.entities.Player;
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+import inf112.roborally.util.RandomStreams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hosts many games at once, with the rules played on the server. See {@link Protocol}.
+ * <p>
+ * One thread runs the server: it accepts clients, reads their messages and plays the rounds of
+ * all sessions, through one selector. A round takes microseconds to play, so no session holds
+ * up the others, and the games need no locking. Clients' bytes are read into, and sent from,
+ * pooled direct buffers.
+ * <p>
+ * Usage: GameServer [--port N] [--rounds N] [--seed N]
+ */
+public class GameServer implements Runnable, AutoCloseable {
+
+    /**
+     * Size of each pooled buffer. A client's queue of frames to send is a few of them at most.
+     */
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Board board;
+    private final int maxRounds;
+    private final long seed;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final BufferPool pool = new BufferPool(BUFFER_SIZE, 1024);
+
+    private final Map<Integer, Session> sessions = new HashMap<>();
+    private int nextSession = 0;
+
+    /**
+     * Connections with frames to send, flushed after each batch of events.
+     */
+    private final List<Connection> pending = new ArrayList<>();
+
+    /**
+     * Frames are built here, then copied to each client they are sent to.
+     */
+    private final ByteBuffer frame = ByteBuffer.allocate(Protocol.MAX_FRAME);
+    private final int[] program = new int[Player.MAX_SELECTED_CARDS];
+
+    private volatile boolean closed = false;
+
+
+    /**
+     * Opens the server. Call run() to serve clients.
+     *
+     * @param address   Where to listen, port 0 for any free port
+     * @param board     The board all sessions play on
+     * @param maxRounds Games are stopped after this many rounds
+     * @param seed      Seed of the server, each session gets its own seed from it
+     * @throws IOException if the server could not listen
+     */
+    public GameServer(InetSocketAddress address, Board board, int maxRounds, long seed) throws IOException {
+        this.board = board;
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(address, 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * @return The port the server listens on
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Runs the server on a new thread.
+     *
+     * @return The thread
+     */
+    public Thread start() {
+        Thread thread = new Thread(this, "game-server");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Serves clients until closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+
+                    if (key.isAcceptable())
+                        accept();
+                    else
+                        handle((Connection) key.attachment(), key);
+                }
+                flushPending();
+            }
+        } catch (IOException e) {
+            Log.get().log(Level.ERROR, LogEvent.IO_ERROR, "Game server stopped: " + e.getMessage());
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key, pool, pending));
+        }
+    }
+
+    private void handle(Connection client, SelectionKey key) {
+        try {
+            if (key.isWritable())
+                client.flush();
+            if (key.isValid() && key.isReadable())
+                read(client);
+        } catch (IOException | IllegalStateException e) {
+            disconnect(client);
+        }
+    }
+
+    private void read(Connection client) throws IOException {
+        if (client.channel.read(client.in) < 0) {
+            disconnect(client);
+            return;
+        }
+
+        client.in.flip();
+        try {
+            ByteBuffer message;
+            while ((message = Protocol.next(client.in)) != null)
+                receive(client, message);
+        } finally {
+            client.in.compact();
+        }
+    }
+
+    /**
+     * Handles one message from a client.
+     */
+    private void receive(Connection client, ByteBuffer message) {
+        try {
+            switch (message.get()) {
+                case Protocol.CREATE: {
+                    int robots = message.get();
+                    int humans = message.get();
+                    if (client.session != null || humans < 1 || robots < humans || robots > Board.MAX_PLAYERS) {
+                        error(client, Protocol.BAD_REQUEST);
+                        break;
+                    }
+                    int id = nextSession++;
+                    Session session = new Session(id, this, board, robots, humans, RandomStreams.gameSeed(seed, id), maxRounds);
+                    sessions.put(id, session);
+                    session.join(client);
+                    break;
+                }
+
+                case Protocol.JOIN: {
+                    Session session = sessions.get(message.getInt());
+                    if (client.session != null)
+                        error(client, Protocol.BAD_REQUEST);
+                    else if (session == null)
+                        error(client, Protocol.NO_SESSION);
+                    else if (!session.join(client))
+                        error(client, Protocol.SESSION_FULL);
+                    break;
+                }
+
+                case Protocol.PROGRAM: {
+                    int round = message.getInt();
+                    for (int i = 0; i < program.length; i++)
+                        program[i] = message.get();
+                    if (client.session == null || !client.session.program(client, round, program))
+                        error(client, Protocol.BAD_PROGRAM);
+                    break;
+                }
+
+                default:
+                    error(client, Protocol.BAD_REQUEST);
+            }
+        } catch (BufferUnderflowException e) {
+            error(client, Protocol.BAD_REQUEST);
+        }
+    }
+
+    private void error(Connection client, byte code) {
+        ByteBuffer frame = Protocol.begin(frame(), Protocol.ERROR);
+        frame.put(code);
+        client.send(Protocol.end(frame));
+    }
+
+    /**
+     * Flushes every client with frames to send. Dropping a client can play a round of its
+     * session and queue frames for the others, so this goes on until none are left.
+     */
+    private void flushPending() {
+        while (!pending.isEmpty()) {
+            // Flushing a client can drop it, which must not change the list while it is iterated
+            Connection[] clients = pending.toArray(new Connection[0]);
+            pending.clear();
+            for (Connection client : clients) {
+                if (!client.channel.isOpen())
+                    continue;
+                if (client.isOverflowed()) {
+                    disconnect(client);
+                    continue;
+                }
+                try {
+                    client.flush();
+                } catch (IOException e) {
+                    disconnect(client);
+                }
+            }
+        }
+    }
+
+    private void disconnect(Connection client) {
+        if (!client.channel.isOpen())
+            return;
+
+        if (client.session != null)
+            client.session.leave(client);
+        pending.remove(client);
+        client.close();
+    }
+
+    /**
+     * @return The buffer to build the next frame in
+     */
+    ByteBuffer frame() {
+        return frame;
+    }
+
+    /**
+     * Called by a session that is over or has no clients left.
+     */
+    void ended(Session session) {
+        sessions.remove(session.id);
+    }
+
+    /**
+     * @return Num. of sessions being played or waiting for clients
+     */
+    public int getSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * @return Num. of pooled buffers in use, two or more per connected client
+     */
+    int getBuffersInUse() {
+        return pool.getInUse();
+    }
+
+    private void shutdown() {
+        for (SelectionKey key : selector.keys())
+            if (key.attachment() instanceof Connection)
+                ((Connection) key.attachment()).close();
+        try {
+            server.close();
+            selector.close();
+        } catch (IOException e) {
+            Log.get().log(Level.ERROR, LogEvent.IO_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the server and disconnects all clients.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 7777;
+        int rounds = 50;
+        long seed = System.nanoTime();
+
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 == args.length)
+                usage("Missing value for " + args[i]);
+
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--port":
+                    port = Integer.parseInt(value);
+                    break;
+
+                case "--rounds":
+                    rounds = Integer.parseInt(value);
+                    break;
+
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+
+                default:
+                    usage("Unknown option " + args[i - 1]);
+            }
+        }
+
+        GameServer server = new GameServer(new InetSocketAddress(port), new Board(), rounds, seed);
+        System.err.printf("Serving on port %d%n", server.getPort());
+        server.run();
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: GameServer [--port N] [--rounds N] [--seed N]");
+        System.exit(1);
+    }
+}
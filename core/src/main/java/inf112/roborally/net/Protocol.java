@@ -0,0 +1,108 @@
+package inf112.roborally.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary protocol between a {@link GameServer} and its clients.
+ * <p>
+ * Every message is a frame: an unsigned short with the length of the rest of the frame, a
+ * type byte, then the fields of the type. Numbers are big-endian. Robots & card ids are one
+ * byte each, see ProgramCard.fromId(int).
+ * <p>
+ * Client to server:
+ * <ul>
+ * <li>CREATE robots, humans: starts a session with room for a number of clients, bots play the other robots.</li>
+ * <li>JOIN session (int): takes the next free seat of a session.</li>
+ * <li>PROGRAM round (int), MAX_SELECTED_CARDS card ids: the program for a round, from the hand dealt.</li>
+ * </ul>
+ * Server to client:
+ * <ul>
+ * <li>JOINED session (int), robot, robots: the client plays the robot. Play starts once all seats are taken.</li>
+ * <li>HAND round (int), count, card ids: the cards dealt for a round.</li>
+ * <li>REGISTER round (int), register, steps, (robot, card id) per step, robots, then per robot x, y,
+ * direction, life, damage, flags, status: a register was played. Flags are a bit per flag taken;
+ * status bits are 1 dead, 2 powered down, 4 powering down next round.</li>
+ * <li>GAME_OVER winner (-1 for none), rounds (int): the session has ended.</li>
+ * <li>ERROR code: the last message was rejected.</li>
+ * </ul>
+ */
+public final class Protocol {
+
+    /**
+     * Max. size of a frame, including the length.
+     */
+    public static final int MAX_FRAME = 512;
+
+    public static final byte CREATE = 1;
+    public static final byte JOIN = 2;
+    public static final byte PROGRAM = 3;
+
+    public static final byte JOINED = 16;
+    public static final byte HAND = 17;
+    public static final byte REGISTER = 18;
+    public static final byte GAME_OVER = 19;
+    public static final byte ERROR = 20;
+
+    /**
+     * Error codes.
+     */
+    public static final byte BAD_REQUEST = 1;
+    public static final byte NO_SESSION = 2;
+    public static final byte SESSION_FULL = 3;
+    public static final byte BAD_PROGRAM = 4;
+
+    /**
+     * Bytes of state per robot in a REGISTER frame.
+     */
+    public static final int ROBOT_BYTES = 7;
+
+    private Protocol() {
+    }
+
+    /**
+     * Starts a frame in a buffer, clearing it.
+     *
+     * @param frame Buffer of at least MAX_FRAME bytes
+     * @param type  Type of the message
+     * @return The buffer, to put the fields in
+     */
+    static ByteBuffer begin(ByteBuffer frame, byte type) {
+        frame.clear();
+        frame.putShort((short) 0).put(type);
+        return frame;
+    }
+
+    /**
+     * Ends a frame begun with begin(), filling in its length.
+     *
+     * @return The buffer, flipped to be sent
+     */
+    static ByteBuffer end(ByteBuffer frame) {
+        frame.putShort(0, (short) (frame.position() - 2));
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * Takes the next whole frame from a buffer of received bytes.
+     *
+     * @param in Received bytes, in read mode
+     * @return The frame, positioned at its type, or null if it is not all received yet
+     * @throws IllegalStateException if the length of the frame is not valid
+     */
+    static ByteBuffer next(ByteBuffer in) {
+        if (in.remaining() < 2)
+            return null;
+
+        int length = in.getShort(in.position()) & 0xFFFF;
+        if (length == 0 || length > MAX_FRAME - 2)
+            throw new IllegalStateException("Frame of " + length + " bytes.");
+        if (in.remaining() < 2 + length)
+            return null;
+
+        ByteBuffer frame = in.slice();
+        frame.limit(2 + length).position(2);
+        in.position(in.position() + 2 + length);
+        return frame;
+    }
+}
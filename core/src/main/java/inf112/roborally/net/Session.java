@@ -0,0 +1,315 @@
+package inf112.roborally.net;
+
+import inf112.roborally.ai.BotStrategy;
+import inf112.roborally.ai.ProgramSearch;
+import inf112.roborally.ai.RandomStrategy;
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.Deck;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameListener;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Round;
+import inf112.roborally.game.Schedule;
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+import inf112.roborally.util.RandomStreams;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One game on a GameServer. Clients play the first robots, bots play the rest.
+ * <p>
+ * Each round every robot with lives left is dealt a hand. The bots choose their programs
+ * right away, and the round is played once every client has sent a program. The result of
+ * each register is sent to all clients. A client that leaves is replaced by a bot.
+ * Rounds are played like in a HeadlessGame.
+ */
+class Session {
+
+    final int id;
+
+    private final GameServer server;
+    private final GameState game;
+    private final Player[] players;
+    private final Deck deck;
+    private final RandomStreams random;
+    private final Schedule schedule = new Schedule();
+    private final int maxRounds;
+
+    /**
+     * The strategy of each robot, null while a client plays it.
+     */
+    private final BotStrategy[] bots;
+
+    /**
+     * The client of each robot, or null.
+     */
+    private final Connection[] clients;
+    private final int humans;
+    private int joined = 0;
+    private int connected = 0;
+
+    private final ProgramCard[][] hands;
+    private final boolean[] out;
+
+    /**
+     * Robots whose client has not sent a program for this round.
+     */
+    private final boolean[] waiting;
+    private int waitingFor = 0;
+
+    private int round = 0;
+
+
+    /**
+     * @param id        Id of the session on its server
+     * @param server    The server hosting it
+     * @param board     The board to play on, may be shared with other sessions
+     * @param robots    Num. of robots
+     * @param humans    Num. of robots played by clients
+     * @param seed      Root seed of the game
+     * @param maxRounds The game is stopped after this many rounds
+     */
+    Session(int id, GameServer server, Board board, int robots, int humans, long seed, int maxRounds) {
+        this.id = id;
+        this.server = server;
+        this.humans = humans;
+        this.maxRounds = maxRounds;
+        this.random = new RandomStreams(seed, robots);
+        this.deck = new Deck(random.deck());
+
+        players = new Player[robots];
+        bots = new BotStrategy[robots];
+        for (int i = 0; i < robots; i++) {
+            players[i] = new Player(board.getStartPosition(i), Color.values()[i], i, i >= humans);
+            if (i >= humans)
+                bots[i] = new RandomStrategy(random.bot(i));
+        }
+        clients = new Connection[robots];
+        hands = new ProgramCard[robots][];
+        out = new boolean[robots];
+        waiting = new boolean[robots];
+
+        game = new GameState(board, players);
+        game.setListener(new GameListener() {
+            @Override
+            public void robotWon(Player player) {
+            }
+
+            @Override
+            public void robotDestroyed(Player player) {
+                out[player.getID()] = true;
+            }
+        });
+    }
+
+    /**
+     * Gives a client the next free seat, and starts the game once all seats are taken.
+     *
+     * @return False if all seats are taken
+     */
+    boolean join(Connection client) {
+        if (joined == humans)
+            return false;
+
+        int robot = joined++;
+        clients[robot] = client;
+        connected++;
+        client.session = this;
+        client.robot = robot;
+
+        ByteBuffer frame = Protocol.begin(server.frame(), Protocol.JOINED);
+        frame.putInt(id).put((byte) robot).put((byte) players.length);
+        client.send(Protocol.end(frame));
+
+        if (joined == humans) {
+            Log.get().log(Level.DEBUG, LogEvent.SESSION_STARTED, null, id, players.length, humans, 0, 0);
+            startRound();
+        }
+        return true;
+    }
+
+    /**
+     * Replaces a client that left by a bot. The session is dropped once no clients are left.
+     */
+    void leave(Connection client) {
+        int robot = client.robot;
+        clients[robot] = null;
+        bots[robot] = new RandomStrategy(random.bot(robot));
+        client.session = null;
+        client.robot = -1;
+
+        if (--connected == 0) {
+            server.ended(this);
+            return;
+        }
+        if (waiting[robot]) {
+            players[robot].setSelectedCards(bots[robot].chooseProgram(game, players[robot], hands[robot]));
+            programmed(robot);
+        }
+    }
+
+    /**
+     * A client sends the program of its robot.
+     *
+     * @param client  The client
+     * @param round   The round the program is for
+     * @param program Card ids, in the order to play them
+     * @return False if it is not a program of cards from the robot's hand for this round
+     */
+    boolean program(Connection client, int round, int[] program) {
+        int robot = client.robot;
+        if (round != this.round || !waiting[robot])
+            return false;
+
+        ProgramCard[] cards = new ProgramCard[Player.MAX_SELECTED_CARDS];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = cardInHand(robot, program[i]);
+            if (cards[i] == null)
+                return false;
+            for (int j = 0; j < i; j++)
+                if (cards[j] == cards[i])
+                    return false;
+        }
+
+        players[robot].setSelectedCards(cards);
+        programmed(robot);
+        return true;
+    }
+
+    private ProgramCard cardInHand(int robot, int cardId) {
+        for (ProgramCard card : hands[robot])
+            if (card.getId() == cardId)
+                return card;
+
+        return null;
+    }
+
+    private void programmed(int robot) {
+        waiting[robot] = false;
+        if (--waitingFor == 0) {
+            playRound();
+            startRound();
+        }
+    }
+
+    /**
+     * Deals the next round, and plays it right away if only bots have cards.
+     * Ends the session if the game is over.
+     */
+    private void startRound() {
+        while (true) {
+            if (game.isOver() || round >= maxRounds || allOut()) {
+                end();
+                return;
+            }
+
+            round++;
+            for (Player player : players) {
+                int robot = player.getID();
+                if (out[robot]) {
+                    player.setSelectedCards(new ProgramCard[Player.MAX_SELECTED_CARDS]);
+                    continue;
+                }
+
+                hands[robot] = deck.take(ProgramSearch.HAND_SIZE);
+                if (bots[robot] != null) {
+                    player.setSelectedCards(bots[robot].chooseProgram(game, player, hands[robot]));
+                    continue;
+                }
+
+                waiting[robot] = true;
+                waitingFor++;
+                ByteBuffer frame = Protocol.begin(server.frame(), Protocol.HAND);
+                frame.putInt(round).put((byte) hands[robot].length);
+                for (ProgramCard card : hands[robot])
+                    frame.put((byte) card.getId());
+                clients[robot].send(Protocol.end(frame));
+            }
+
+            if (waitingFor > 0)
+                return;
+            playRound();
+        }
+    }
+
+    /**
+     * Plays all registers, sending the result of each, then respawns robots & recycles cards.
+     */
+    private void playRound() {
+        schedule.plan(game);
+        for (int register = 0; register < Player.MAX_SELECTED_CARDS && !game.isOver(); register++) {
+            Round.playRegister(game, schedule, register);
+            sendRegister(register);
+        }
+
+        for (Player player : players) {
+            int robot = player.getID();
+            // Robots out of the game stay off the board
+            if (out[robot])
+                player.setDead(true);
+            else if (player.isDead())
+                player.respawn();
+
+            if (hands[robot] != null)
+                deck.recycleAll(hands[robot]);
+            hands[robot] = null;
+        }
+    }
+
+    private void sendRegister(int register) {
+        ByteBuffer frame = Protocol.begin(server.frame(), Protocol.REGISTER);
+        frame.putInt(round).put((byte) register);
+        frame.put((byte) (schedule.registerEnd(register) - schedule.registerStart(register)));
+        for (int step = schedule.registerStart(register); step < schedule.registerEnd(register); step++)
+            frame.put((byte) schedule.getRobot(step)).put((byte) schedule.getCardId(step));
+
+        frame.put((byte) players.length);
+        for (Player player : players) {
+            int flags = 0;
+            for (int flag = 1; flag <= 4; flag++)
+                if (player.hasFlag(flag))
+                    flags |= 1 << (flag - 1);
+            int status = (player.isDead() ? 1 : 0) | (player.isPowerDown() ? 2 : 0)
+                    | (player.getPowerDownNextRound() ? 4 : 0);
+
+            frame.put((byte) player.getX()).put((byte) player.getY()).put((byte) player.getDir().ordinal())
+                    .put((byte) player.getLife()).put((byte) player.getDamage())
+                    .put((byte) flags).put((byte) status);
+        }
+        broadcast(Protocol.end(frame));
+    }
+
+    private void end() {
+        int winner = game.getWinner() == null ? -1 : game.getWinner().getID();
+        Log.get().log(Level.DEBUG, LogEvent.SESSION_ENDED, null, id, winner, round, 0, 0);
+
+        ByteBuffer frame = Protocol.begin(server.frame(), Protocol.GAME_OVER);
+        frame.put((byte) winner).putInt(round);
+        broadcast(Protocol.end(frame));
+        for (Connection client : clients) {
+            if (client != null) {
+                client.session = null;
+                client.robot = -1;
+            }
+        }
+        server.ended(this);
+    }
+
+    private void broadcast(ByteBuffer frame) {
+        for (Connection client : clients)
+            if (client != null)
+                client.send(frame);
+    }
+
+    private boolean allOut() {
+        for (boolean isOut : out)
+            if (!isOut)
+                return false;
+
+        return true;
+    }
+}
@@ -0,0 +1,251 @@
+package inf112.roborally.profiling;
+
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Times frames, the sections of a frame and the phases of a round.
+ * <p>
+ * Keeps the frame times of the last frames in a ring, for rolling percentiles, and the time of
+ * each section in the last frame. Also counts garbage collections and the bytes allocated by
+ * the thread running the frames. Each frame and phase can be appended to a JSON lines export.
+ * Recording allocates nothing, unless exporting. Not thread-safe, used by the render thread.
+ */
+public class FrameProfiler implements AutoCloseable {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final String[] sections;
+    private final LongSupplier clock;
+
+    /**
+     * Ring of the last frame times, in ns.
+     */
+    private final long[] frameTimes;
+    private final long[] sorted;
+    private int frames;
+
+    private long frameStart;
+    private final long[] sectionStart;
+    private final long[] sectionTime;
+    private long lastFrameTime;
+
+    private long gcCount;
+    private long lastGcCount;
+    private long allocated;
+    private long lastAllocated;
+
+    private String phase;
+    private long phaseStart;
+
+    private Writer export;
+
+    /**
+     * Looked up once, as the lookups allocate.
+     */
+    private final GarbageCollectorMXBean[] collectors;
+    private final ThreadMXBean threads;
+
+
+    /**
+     * @param sections Names of the sections of a frame, timed by their index
+     * @param window   Num. of frames the percentiles are taken over
+     */
+    public FrameProfiler(String[] sections, int window) {
+        this(sections, window, System::nanoTime);
+    }
+
+    /**
+     * @param sections Names of the sections of a frame, timed by their index
+     * @param window   Num. of frames the percentiles are taken over
+     * @param clock    Source of the time, in ns
+     */
+    public FrameProfiler(String[] sections, int window, LongSupplier clock) {
+        if (window <= 0)
+            throw new IllegalArgumentException("The window must hold at least one frame.");
+
+        this.sections = sections.clone();
+        this.clock = clock;
+        this.frameTimes = new long[window];
+        this.sorted = new long[window];
+        this.sectionStart = new long[sections.length];
+        this.sectionTime = new long[sections.length];
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        this.collectors = collectors.toArray(new GarbageCollectorMXBean[collectors.size()]);
+        this.threads = ManagementFactory.getThreadMXBean();
+        this.gcCount = totalGcCount();
+        this.allocated = allocatedBytes();
+    }
+
+    /**
+     * Appends a line for each frame and phase to the writer, until closed.
+     *
+     * @param export The writer, or null to stop exporting
+     */
+    public void setExport(Writer export) {
+        this.export = export;
+    }
+
+    public void beginFrame() {
+        Arrays.fill(sectionTime, 0);
+        frameStart = clock.getAsLong();
+    }
+
+    public void begin(int section) {
+        sectionStart[section] = clock.getAsLong();
+    }
+
+    /**
+     * Ends a section. A section can be timed several times in a frame, the times are added up.
+     */
+    public void end(int section) {
+        sectionTime[section] += clock.getAsLong() - sectionStart[section];
+    }
+
+    /**
+     * Ends the frame, recording its time, and the collections & allocations since the last frame.
+     */
+    public void endFrame() {
+        lastFrameTime = clock.getAsLong() - frameStart;
+        frameTimes[frames % frameTimes.length] = lastFrameTime;
+        frames++;
+
+        long gc = totalGcCount();
+        lastGcCount = gc - gcCount;
+        gcCount = gc;
+
+        long bytes = allocatedBytes();
+        lastAllocated = allocated < 0 ? -1 : bytes - allocated;
+        allocated = bytes;
+
+        if (export != null)
+            write(frameJson());
+    }
+
+    /**
+     * Starts a phase of the round, ending the one before.
+     *
+     * @param name Name of the phase
+     */
+    public void phase(String name) {
+        long now = clock.getAsLong();
+        endPhase(now);
+        phase = name;
+        phaseStart = now;
+    }
+
+    private void endPhase(long now) {
+        if (phase != null && export != null)
+            write("{\"phase\":\"" + phase + "\",\"ms\":" + (now - phaseStart) / NANOS_PER_MS + "}\n");
+    }
+
+    /**
+     * @param p Percentile, 0 to 100
+     * @return The frame time at the percentile, over the window, in ms. 0 before the first frame.
+     */
+    public double getFramePercentile(double p) {
+        int count = Math.min(frames, frameTimes.length);
+        if (count == 0)
+            return 0;
+
+        System.arraycopy(frameTimes, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int rank = (int) Math.ceil(p / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, rank))] / NANOS_PER_MS;
+    }
+
+    /**
+     * @return Time of the last frame, in ms
+     */
+    public double getFrameTime() {
+        return lastFrameTime / NANOS_PER_MS;
+    }
+
+    /**
+     * @return Time of a section in the last frame, in ms
+     */
+    public double getSectionTime(int section) {
+        return sectionTime[section] / NANOS_PER_MS;
+    }
+
+    public String[] getSections() {
+        return sections.clone();
+    }
+
+    /**
+     * @return Num. of garbage collections during the last frame
+     */
+    public long getGcCount() {
+        return lastGcCount;
+    }
+
+    /**
+     * @return Bytes allocated by the frame thread during the last frame, or -1 if the JVM can't tell
+     */
+    public long getAllocatedBytes() {
+        return lastAllocated;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    private String frameJson() {
+        StringBuilder line = new StringBuilder();
+        line.append("{\"frame\":").append(frames)
+                .append(",\"ms\":").append(getFrameTime())
+                .append(",\"sections\":{");
+        for (int i = 0; i < sections.length; i++) {
+            if (i > 0)
+                line.append(',');
+            line.append('"').append(sections[i]).append("\":").append(getSectionTime(i));
+        }
+        line.append("},\"gc\":").append(lastGcCount)
+                .append(",\"alloc\":").append(lastAllocated);
+        return line.append("}\n").toString();
+    }
+
+    private void write(String line) {
+        try {
+            export.write(line);
+        } catch (IOException e) {
+            Log.get().log(Level.ERROR, LogEvent.IO_ERROR, e.getMessage());
+            export = null;
+        }
+    }
+
+    /**
+     * Ends the current phase and closes the export.
+     */
+    @Override
+    public void close() throws IOException {
+        endPhase(clock.getAsLong());
+        phase = null;
+        if (export != null)
+            export.close();
+        export = null;
+    }
+
+    private long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors)
+            count += Math.max(0, collector.getCollectionCount());
+        return count;
+    }
+
+    private long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean)
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        return -1;
+    }
+}
@@ -0,0 +1,193 @@
+package inf112.roborally.replay;
+
+import inf112.roborally.entities.Color;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A recorded game, written by {@link ReplayWriter} and played by {@link ReplayPlayer}.
+ * <p>
+ * The file starts with a header: magic, version, seed, board, snapshot interval and the color
+ * and kind of each robot. Then follow records, each starting with a tag byte:
+ * <ul>
+ * <li>REGISTER: index of the register in its round, then a (robot, card id) pair per card
+ * played, in the order they were played.</li>
+ * <li>PATCH: (index, value) pairs of the state ints that changed since the last register.</li>
+ * <li>SNAPSHOT: the register it was taken before, then the whole state.</li>
+ * </ul>
+ * The file ends with an index of the snapshots and a fixed-size trailer pointing to it.
+ * All numbers are varints, except the magics, the seed and the trailer.
+ */
+public class Replay {
+
+    static final int MAGIC = 0x5252504C; // "RRPL"
+    static final int END_MAGIC = 0x454E4421; // "END!"
+    static final int VERSION = 1;
+
+    static final byte PATCH = 1;
+    static final byte SNAPSHOT = 2;
+    static final byte REGISTER = 3;
+
+    /**
+     * Size of the trailer: index offset, num. of registers, end magic.
+     */
+    private static final int TRAILER = 8 + 4 + 4;
+
+    private final ByteBuffer data;
+    private final long seed;
+    private final String boardId;
+    private final int snapshotInterval;
+    private final Color[] colors;
+    private final boolean[] bots;
+    private final int registers;
+
+    /**
+     * Offset of the first record, and of the index after the last one.
+     */
+    private final int bodyStart;
+    private final int bodyEnd;
+
+    private final int[] snapshotRegisters;
+    private final int[] snapshotOffsets;
+
+
+    /**
+     * @param data A whole replay
+     * @throws IllegalArgumentException if the data is not a replay, or of another version
+     */
+    public Replay(byte[] data) {
+        this.data = ByteBuffer.wrap(data).asReadOnlyBuffer();
+        try {
+            ByteBuffer in = this.data.duplicate();
+            if (data.length < 4 + TRAILER || in.getInt() != MAGIC || in.getInt(data.length - 4) != END_MAGIC)
+                throw new IllegalArgumentException("Not a replay.");
+            int version = Varints.readInt(in);
+            if (version != VERSION)
+                throw new IllegalArgumentException("Replay version " + version + " is not supported.");
+
+            seed = in.getLong();
+            byte[] board = new byte[Varints.readInt(in)];
+            in.get(board);
+            boardId = new String(board, StandardCharsets.UTF_8);
+            snapshotInterval = Varints.readInt(in);
+            int robots = Varints.readInt(in);
+            colors = new Color[robots];
+            bots = new boolean[robots];
+            for (int i = 0; i < robots; i++) {
+                colors[i] = Color.values()[Varints.readInt(in)];
+                bots[i] = in.get() != 0;
+            }
+            bodyStart = in.position();
+
+            long indexOffset = in.getLong(data.length - TRAILER);
+            registers = in.getInt(data.length - TRAILER + 8);
+            if (indexOffset < bodyStart || indexOffset > data.length - TRAILER)
+                throw new IllegalArgumentException("Replay index out of bounds.");
+            bodyEnd = (int) indexOffset;
+
+            in.position(bodyEnd);
+            int snapshots = Varints.readInt(in);
+            snapshotRegisters = new int[snapshots];
+            snapshotOffsets = new int[snapshots];
+            for (int i = 0; i < snapshots; i++) {
+                snapshotRegisters[i] = Varints.readInt(in);
+                snapshotOffsets[i] = Varints.readInt(in);
+                if (snapshotOffsets[i] < bodyStart || snapshotOffsets[i] >= bodyEnd)
+                    throw new IllegalArgumentException("Snapshot " + i + " out of bounds.");
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalStateException e) {
+            throw new IllegalArgumentException("Replay is truncated or corrupt.", e);
+        }
+    }
+
+    /**
+     * @param file File written by a ReplayWriter
+     * @return The replay
+     * @throws IOException if the file could not be read
+     */
+    public static Replay read(Path file) throws IOException {
+        return new Replay(Files.readAllBytes(file));
+    }
+
+    /**
+     * @return A buffer over the whole replay, positioned at the first record
+     */
+    ByteBuffer body() {
+        ByteBuffer body = data.duplicate();
+        body.position(bodyStart);
+        return body;
+    }
+
+    int getBodyEnd() {
+        return bodyEnd;
+    }
+
+    /**
+     * @param register A register number, 0 to getRegisters()
+     * @return Offset of the last snapshot taken at or before the register, or -1 if there is none
+     */
+    int snapshotBefore(int register) {
+        int lo = 0;
+        int hi = snapshotRegisters.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (snapshotRegisters[mid] <= register) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found < 0 ? -1 : snapshotOffsets[found];
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Map file of the board the game was played on
+     */
+    public String getBoardId() {
+        return boardId;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * @return Num. of robots, with IDs 0 to getRobots() - 1
+     */
+    public int getRobots() {
+        return colors.length;
+    }
+
+    public Color getColor(int robot) {
+        return colors[robot];
+    }
+
+    public boolean isBot(int robot) {
+        return bots[robot];
+    }
+
+    /**
+     * @return Num. of registers recorded
+     */
+    public int getRegisters() {
+        return registers;
+    }
+
+    /**
+     * @return Size of the replay in bytes
+     */
+    public int size() {
+        return data.capacity();
+    }
+}
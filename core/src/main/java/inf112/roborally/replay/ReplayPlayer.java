@@ -0,0 +1,166 @@
+package inf112.roborally.replay;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Player;
+import inf112.roborally.events.EventUtil;
+import inf112.roborally.game.GameState;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Plays a replay headlessly, by playing the recorded cards again on a fresh game.
+ * Seeking restores the nearest snapshot before the register and plays forward from there.
+ */
+public class ReplayPlayer {
+
+    private final Replay replay;
+    private final GameState game;
+    private final ByteBuffer in;
+
+    /**
+     * Scratch state for snapshots & patches.
+     */
+    private final int[] state;
+
+    /**
+     * Num. of registers played. The replay is always positioned at the next register, or at its end.
+     */
+    private int register = 0;
+
+
+    /**
+     * @param replay The replay to play
+     * @param board  The board the game was played on
+     * @throws IllegalArgumentException if the replay was recorded on another board
+     */
+    public ReplayPlayer(Replay replay, Board board) {
+        if (!replay.getBoardId().equals(board.getMapFile()))
+            throw new IllegalArgumentException("Replay is of board \"" + replay.getBoardId()
+                    + "\", not \"" + board.getMapFile() + "\".");
+
+        this.replay = replay;
+        Player[] players = new Player[replay.getRobots()];
+        for (int i = 0; i < players.length; i++)
+            players[i] = new Player(board.getStartPosition(i), replay.getColor(i), i, replay.isBot(i));
+        this.game = new GameState(board, players);
+        this.state = game.snapshot();
+        this.in = replay.body();
+        skipToRegister(true);
+    }
+
+    /**
+     * Plays the next register.
+     *
+     * @return False if the replay has ended
+     */
+    public boolean step() {
+        if (in.position() >= replay.getBodyEnd())
+            return false;
+        if (in.get() != Replay.REGISTER)
+            throw new IllegalStateException("Expected a register at " + (in.position() - 1) + ".");
+
+        Varints.readInt(in); // Index of the register in its round
+        int steps = Varints.readInt(in);
+        for (int i = 0; i < steps; i++) {
+            Player player = game.getPlayer(Varints.readInt(in));
+            ProgramCard card = ProgramCard.fromId(Varints.readInt(in));
+            if (!player.isDead())
+                player.executeCard(game, card);
+        }
+        EventUtil.handleEvent(game);
+        register++;
+        skipToRegister(false);
+        return true;
+    }
+
+    /**
+     * Puts the game in its state before a register, as it was when recorded.
+     *
+     * @param target Num. of registers played, 0 to Replay.getRegisters()
+     */
+    public void seek(int target) {
+        if (target < 0 || target > replay.getRegisters())
+            throw new IndexOutOfBoundsException("Register " + target + " of " + replay.getRegisters() + ".");
+
+        int offset = replay.snapshotBefore(target);
+        // Playing on from where we are is cheaper than restoring a snapshot no later than it
+        if (offset >= 0 && (target < register || snapshotRegister(offset) > register)) {
+            in.position(offset);
+            skipToRegister(true);
+        }
+        while (register < target)
+            step();
+    }
+
+    /**
+     * Plays all registers left.
+     */
+    public void playToEnd() {
+        seek(replay.getRegisters());
+    }
+
+    /**
+     * Reads the register a snapshot was taken before, without moving.
+     */
+    private int snapshotRegister(int offset) {
+        ByteBuffer peek = in.duplicate();
+        peek.position(offset + 1);
+        return Varints.readInt(peek);
+    }
+
+    /**
+     * Applies the records between registers, up to the next register or the end.
+     *
+     * @param restore Whether to restore snapshots, or skip them since the game is already in their state
+     */
+    private void skipToRegister(boolean restore) {
+        while (in.position() < replay.getBodyEnd()) {
+            int tag = in.get(in.position());
+            if (tag == Replay.REGISTER)
+                return;
+            in.get();
+
+            if (tag == Replay.SNAPSHOT) {
+                int at = Varints.readInt(in);
+                int length = Varints.readInt(in);
+                if (length != state.length)
+                    throw new IllegalStateException("Snapshot of " + length + " ints, expected " + state.length + ".");
+                for (int i = 0; i < length; i++)
+                    state[i] = (int) Varints.readSigned(in);
+                if (restore) {
+                    game.restore(state);
+                    register = at;
+                }
+            } else if (tag == Replay.PATCH) {
+                game.snapshot(state);
+                int changed = Varints.readInt(in);
+                for (int i = 0; i < changed; i++) {
+                    int index = Varints.readInt(in);
+                    state[index] = (int) Varints.readSigned(in);
+                }
+                game.restore(state);
+            } else {
+                throw new IllegalStateException("Unknown record " + tag + " at " + (in.position() - 1) + ".");
+            }
+        }
+    }
+
+    /**
+     * @return The game, in its state before the next register
+     */
+    public GameState getGame() {
+        return game;
+    }
+
+    /**
+     * @return Num. of registers played
+     */
+    public int getRegister() {
+        return register;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+}
@@ -0,0 +1,202 @@
+package inf112.roborally.replay;
+
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Round;
+import inf112.roborally.game.Schedule;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Records a game as it is played, in the format read by {@link Replay}.
+ * <p>
+ * For each register, the cards played are written as (robot, card id) pairs, in the order they
+ * were played. Whatever changes the game between registers, e.g. respawning robots at the end
+ * of a round, is written as a patch of the state ints that changed. Every few registers the
+ * whole state is written as a snapshot, and the offsets of the snapshots are written as an
+ * index at the end of the file.
+ */
+public class ReplayWriter implements AutoCloseable {
+
+    /**
+     * Default num. of registers between snapshots.
+     */
+    public static final int SNAPSHOT_INTERVAL = 25;
+
+    private final DataOutputStream out;
+    private final int snapshotInterval;
+
+    /**
+     * Num. of registers recorded.
+     */
+    private int registers = 0;
+
+    /**
+     * The state after the last recorded register, to find what changed before the next one.
+     */
+    private int[] after;
+    private int[] current;
+
+    /**
+     * Register number & offset of each snapshot.
+     */
+    private int[] snapshotRegisters = new int[16];
+    private long[] snapshotOffsets = new long[16];
+    private int snapshots = 0;
+
+    private boolean inRegister = false;
+
+
+    /**
+     * Starts a replay by writing its header.
+     *
+     * @param out              Where to write the replay. Closed with the writer.
+     * @param seed             Root seed of the game
+     * @param boardId          Map file of the board, see Board.getMapFile()
+     * @param players          The robots, in the order their ids were given, at their start positions
+     * @param snapshotInterval Num. of registers between snapshots
+     * @throws IOException if the header could not be written
+     */
+    public ReplayWriter(OutputStream out, long seed, String boardId, Player[] players, int snapshotInterval) throws IOException {
+        if (snapshotInterval <= 0)
+            throw new IllegalArgumentException("The snapshot interval must be positive.");
+
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.snapshotInterval = snapshotInterval;
+
+        this.out.writeInt(Replay.MAGIC);
+        Varints.write(this.out, Replay.VERSION);
+        this.out.writeLong(seed);
+        byte[] board = boardId.getBytes(StandardCharsets.UTF_8);
+        Varints.write(this.out, board.length);
+        this.out.write(board);
+        Varints.write(this.out, snapshotInterval);
+        Varints.write(this.out, players.length);
+        for (int i = 0; i < players.length; i++) {
+            if (players[i].getID() != i)
+                throw new IllegalArgumentException("Robot " + i + " has ID " + players[i].getID() + ".");
+            Varints.write(this.out, players[i].color.ordinal());
+            this.out.writeByte(players[i].isBot() ? 1 : 0);
+        }
+    }
+
+    /**
+     * Records the cards of a register, which is about to be played.
+     *
+     * @param game     The game, in its state before the register
+     * @param schedule The round, planned for the game
+     * @param register Index of the register in the round
+     * @throws IOException if the register could not be written
+     */
+    public void beginRegister(GameState game, Schedule schedule, int register) throws IOException {
+        if (inRegister)
+            throw new IllegalStateException("The last register has not ended.");
+        inRegister = true;
+
+        current = game.snapshot(current == null ? new int[game.snapshot().length] : current);
+        if (after != null)
+            writePatch();
+        if (registers % snapshotInterval == 0)
+            writeSnapshot();
+
+        out.writeByte(Replay.REGISTER);
+        Varints.write(out, register);
+        Varints.write(out, schedule.registerEnd(register) - schedule.registerStart(register));
+        for (int step = schedule.registerStart(register); step < schedule.registerEnd(register); step++) {
+            Varints.write(out, schedule.getRobot(step));
+            Varints.write(out, schedule.getCardId(step));
+        }
+    }
+
+    /**
+     * Ends the register begun last, once it is played and the board has acted.
+     *
+     * @param game The game, in its state after the register
+     */
+    public void endRegister(GameState game) {
+        if (!inRegister)
+            throw new IllegalStateException("No register has begun.");
+        inRegister = false;
+
+        after = game.snapshot(after == null ? new int[current.length] : after);
+        registers++;
+    }
+
+    /**
+     * Records and plays a register.
+     *
+     * @param game     The game which holds the board & all robots
+     * @param schedule The round, planned for the game
+     * @param register Index of the register in the round
+     * @throws IOException if the register could not be written
+     */
+    public void playRegister(GameState game, Schedule schedule, int register) throws IOException {
+        beginRegister(game, schedule, register);
+        Round.playRegister(game, schedule, register);
+        endRegister(game);
+    }
+
+    /**
+     * @return Num. of registers recorded
+     */
+    public int getRegisters() {
+        return registers;
+    }
+
+    private void writePatch() throws IOException {
+        int changed = 0;
+        for (int i = 0; i < current.length; i++)
+            if (current[i] != after[i])
+                changed++;
+        if (changed == 0)
+            return;
+
+        out.writeByte(Replay.PATCH);
+        Varints.write(out, changed);
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != after[i]) {
+                Varints.write(out, i);
+                Varints.writeSigned(out, current[i]);
+            }
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        if (snapshots == snapshotRegisters.length) {
+            snapshotRegisters = Arrays.copyOf(snapshotRegisters, snapshots * 2);
+            snapshotOffsets = Arrays.copyOf(snapshotOffsets, snapshots * 2);
+        }
+        snapshotRegisters[snapshots] = registers;
+        snapshotOffsets[snapshots] = out.size();
+        snapshots++;
+
+        out.writeByte(Replay.SNAPSHOT);
+        Varints.write(out, registers);
+        Varints.write(out, current.length);
+        for (int value : current)
+            Varints.writeSigned(out, value);
+    }
+
+    /**
+     * Writes the index of the snapshots and closes the replay.
+     * The replay ends after the last recorded register.
+     */
+    @Override
+    public void close() throws IOException {
+        long indexOffset = out.size();
+        Varints.write(out, snapshots);
+        for (int i = 0; i < snapshots; i++) {
+            Varints.write(out, snapshotRegisters[i]);
+            Varints.write(out, snapshotOffsets[i]);
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(registers);
+        out.writeInt(Replay.END_MAGIC);
+        out.close();
+    }
+}
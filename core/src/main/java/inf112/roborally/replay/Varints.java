@@ -0,0 +1,58 @@
+package inf112.roborally.replay;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length integers: 7 bits per byte, low bits first, the high bit set on all but
+ * the last byte. Signed values are zigzag-encoded first, so small negatives stay small.
+ */
+class Varints {
+
+    private Varints() {
+    }
+
+    static void write(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static void writeSigned(DataOutput out, long value) throws IOException {
+        write(out, value << 1 ^ value >> 63);
+    }
+
+    /**
+     * @throws BufferUnderflowException if the buffer ends inside the value
+     * @throws IllegalStateException    if the value is longer than a long
+     */
+    static long read(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalStateException("Malformed varint.");
+    }
+
+    static long readSigned(ByteBuffer in) {
+        long value = read(in);
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Reads an unsigned value that must fit in an int, e.g. a count or an index.
+     */
+    static int readInt(ByteBuffer in) {
+        long value = read(in);
+        if (value < 0 || value > Integer.MAX_VALUE)
+            throw new IllegalStateException("Value " + value + " out of range.");
+        return (int) value;
+    }
+}
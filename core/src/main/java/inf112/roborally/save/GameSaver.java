@@ -0,0 +1,144 @@
+package inf112.roborally.save;
+
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Saves a game to a file on a background thread, so saving never holds up the game.
+ * <p>
+ * Each save is written through a FileChannel to a temporary file next to the save, forced to
+ * disk, and then moved over the save. A crash while saving therefore leaves the last good
+ * save in place. Nothing stays mapped or open between saves, so the save can always be
+ * replaced or deleted. If saves come faster than they are written, only the newest is
+ * written. Errors are logged, not thrown: a game goes on if it cannot be saved.
+ */
+public class GameSaver implements AutoCloseable {
+
+    private final Path file;
+    private final Path temp;
+    private final ExecutorService writer;
+
+    /**
+     * The newest save not yet written, or null.
+     */
+    private final AtomicReference<SavedGame> pending = new AtomicReference<>();
+
+    /**
+     * Reused for each save, only used by the writer thread.
+     */
+    private ByteBuffer buffer;
+
+
+    /**
+     * @param file Where to save, replacing any game saved there
+     */
+    public GameSaver(Path file) {
+        this.file = file;
+        this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "game-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Saves a game, in the background.
+     *
+     * @param game The game to save
+     */
+    public void save(SavedGame game) {
+        if (pending.getAndSet(game) == null)
+            writer.execute(this::writePending);
+    }
+
+    private void writePending() {
+        SavedGame game = pending.getAndSet(null);
+        if (game == null)
+            return;
+
+        try {
+            if (buffer == null || buffer.capacity() != game.size())
+                buffer = ByteBuffer.allocateDirect(game.size());
+            game.write(buffer);
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                buffer.clear();
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Log.get().log(Level.ERROR, LogEvent.IO_ERROR, "Could not save to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until the last game saved is written.
+     *
+     * @param timeoutMillis Max. time to wait
+     * @return False if it was not written in time
+     */
+    public boolean flush(long timeoutMillis) {
+        try {
+            writer.submit(() -> {
+            }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the save, e.g. when the game is over. Games saved before are not written.
+     */
+    public void delete() {
+        pending.set(null);
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                Log.get().log(Level.ERROR, LogEvent.IO_ERROR, "Could not delete " + file + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Writes the last game saved and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package inf112.roborally.save;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.Deck;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+/**
+ * A game in progress, as it is saved: the robots, their cards, the deck and how far the round
+ * has come. Taking one copies everything, so it can be written on another thread while the
+ * game goes on.
+ * <p>
+ * A save file has a fixed layout, given by the number of robots alone. All numbers are
+ * big-endian ints, except the seed:
+ * <pre>
+ *  0  magic "RRSV", version, num. of robots, phase, register, round
+ * 24  seed (long)
+ * 32  num. of cards in the deck, then the deck's card ids, padded with -1 to DECK_SIZE
+ *     per robot: color, bot (0 or 1), HAND_SIZE visible card ids, MAX_SELECTED_CARDS
+ *     selected card ids, -1 for no card
+ *     the game's state array, see GameState
+ *     CRC32 of everything before it
+ * </pre>
+ */
+public final class SavedGame {
+
+    /**
+     * Where a round was when it was saved.
+     */
+    public enum Phase {
+        /**
+         * The human is choosing cards.
+         */
+        PROGRAMMING,
+
+        /**
+         * Programs are chosen, the human is asked about powering down.
+         */
+        POWER_DOWN,
+
+        /**
+         * Registers are being played, getRegister() is the next one.
+         */
+        EXECUTING
+    }
+
+    static final int MAGIC = 0x52525356; // "RRSV"
+    static final int VERSION = 1;
+
+    /**
+     * Max. num. of cards a robot is dealt.
+     */
+    public static final int HAND_SIZE = 9;
+
+    private static final int HEADER = 6 * 4 + 8;
+    private static final int ROBOT = (2 + HAND_SIZE + Player.MAX_SELECTED_CARDS) * 4;
+
+    private final long seed;
+    private final int round;
+    private final Phase phase;
+    private final int register;
+    private final int[] deck;
+    private final Color[] colors;
+    private final boolean[] bots;
+
+    /**
+     * Card ids of each robot, -1 for no card.
+     */
+    private final int[][] visible;
+    private final int[][] selected;
+    private final int[] state;
+
+
+    /**
+     * Takes a copy of a game.
+     *
+     * @param seed     Root seed of the game
+     * @param round    Num. of rounds dealt
+     * @param phase    Where the round is
+     * @param register Next register to play, when executing
+     * @param game     The game. Its robots must have IDs 0 to n - 1, in order.
+     * @param deck     The deck the game is dealt from
+     */
+    public SavedGame(long seed, int round, Phase phase, int register, GameState game, Deck deck) {
+        Player[] players = game.getPlayers();
+        this.seed = seed;
+        this.round = round;
+        this.phase = phase;
+        this.register = register;
+        this.deck = deck.getCardIds();
+        this.colors = new Color[players.length];
+        this.bots = new boolean[players.length];
+        this.visible = new int[players.length][];
+        this.selected = new int[players.length][];
+        this.state = game.snapshot();
+
+        for (int i = 0; i < players.length; i++) {
+            if (players[i].getID() != i)
+                throw new IllegalArgumentException("Robot " + i + " has ID " + players[i].getID() + ".");
+
+            colors[i] = players[i].color;
+            bots[i] = players[i].isBot();
+            visible[i] = ids(bots[i] ? null : players[i].getVisibleCards(), HAND_SIZE);
+            selected[i] = ids(players[i].getSelectedCards(), Player.MAX_SELECTED_CARDS);
+        }
+    }
+
+    private SavedGame(long seed, int round, Phase phase, int register, int[] deck, Color[] colors, boolean[] bots,
+                      int[][] visible, int[][] selected, int[] state) {
+        this.seed = seed;
+        this.round = round;
+        this.phase = phase;
+        this.register = register;
+        this.deck = deck;
+        this.colors = colors;
+        this.bots = bots;
+        this.visible = visible;
+        this.selected = selected;
+        this.state = state;
+    }
+
+    private static int[] ids(ProgramCard[] cards, int length) {
+        int[] ids = new int[length];
+        Arrays.fill(ids, -1);
+        if (cards == null)
+            return ids;
+        if (cards.length > length)
+            throw new IllegalArgumentException("More than " + length + " cards.");
+
+        for (int i = 0; i < cards.length; i++) {
+            if (cards[i] == null)
+                continue;
+            if (cards[i].getId() < 0)
+                throw new IllegalArgumentException("Only cards of the standard deck can be saved.");
+            ids[i] = cards[i].getId();
+        }
+        return ids;
+    }
+
+    private static ProgramCard[] cards(int[] ids, int length) {
+        ProgramCard[] cards = new ProgramCard[length];
+        for (int i = 0; i < length; i++)
+            cards[i] = ids[i] < 0 ? null : ProgramCard.fromId(ids[i]);
+        return cards;
+    }
+
+    /**
+     * Creates the robots & the game again, on a board.
+     *
+     * @param board The board the game was played on
+     * @return The game, with every robot as it was & holding the same cards
+     */
+    public GameState restoreGame(Board board) {
+        Player[] players = new Player[colors.length];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(board.getStartPosition(i), colors[i], i, bots[i]);
+            players[i].setSelectedCards(cards(selected[i], Player.MAX_SELECTED_CARDS));
+            if (!bots[i])
+                players[i].setVisibleCards(cards(visible[i], HAND_SIZE));
+        }
+
+        GameState game = new GameState(board, players);
+        game.restore(state);
+        return game;
+    }
+
+    /**
+     * @param random Source of the draws from now on
+     * @return The deck, with the same cards in the same order
+     */
+    public Deck restoreDeck(SplittableRandom random) {
+        return new Deck(random, deck);
+    }
+
+    /**
+     * @return Size of the file this game is saved in, in bytes
+     */
+    public int size() {
+        return size(colors.length, state.length);
+    }
+
+    private static int size(int robots, int stateLength) {
+        return HEADER + (1 + Deck.DECK_SIZE) * 4 + robots * ROBOT + stateLength * 4 + 4;
+    }
+
+    /**
+     * Writes the game at the start of a buffer, in the layout described above.
+     *
+     * @param out A buffer of at least size() bytes
+     */
+    public void write(ByteBuffer out) {
+        ByteBuffer buffer = out.duplicate();
+        buffer.position(0);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(colors.length)
+                .putInt(phase.ordinal()).putInt(register).putInt(round)
+                .putLong(seed);
+
+        buffer.putInt(deck.length);
+        for (int i = 0; i < Deck.DECK_SIZE; i++)
+            buffer.putInt(i < deck.length ? deck[i] : -1);
+
+        for (int i = 0; i < colors.length; i++) {
+            buffer.putInt(colors[i].ordinal()).putInt(bots[i] ? 1 : 0);
+            for (int id : visible[i])
+                buffer.putInt(id);
+            for (int id : selected[i])
+                buffer.putInt(id);
+        }
+        for (int value : state)
+            buffer.putInt(value);
+
+        buffer.putInt((int) checksum(buffer, buffer.position()));
+    }
+
+    /**
+     * Reads a game from the start of a buffer.
+     *
+     * @param in A buffer holding a whole save file
+     * @return The game
+     * @throws IllegalArgumentException if the buffer is not a save file of this version, or is corrupt
+     */
+    public static SavedGame read(ByteBuffer in) {
+        ByteBuffer buffer = in.duplicate();
+        buffer.position(0);
+        if (buffer.limit() < HEADER || buffer.getInt() != MAGIC)
+            throw new IllegalArgumentException("Not a saved game.");
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IllegalArgumentException("Saved game version " + version + " is not supported.");
+
+        int robots = buffer.getInt();
+        if (robots < 1 || robots > Board.MAX_PLAYERS)
+            throw new IllegalArgumentException("Saved game has " + robots + " robots.");
+        int stateLength = GameState.stateLength(robots);
+        int size = size(robots, stateLength);
+        if (buffer.limit() != size)
+            throw new IllegalArgumentException("Saved game is " + buffer.limit() + " bytes, expected " + size + ".");
+        if (buffer.getInt(size - 4) != (int) checksum(buffer, size - 4))
+            throw new IllegalArgumentException("Saved game is corrupt.");
+
+        int phase = buffer.getInt();
+        if (phase < 0 || phase >= Phase.values().length)
+            throw new IllegalArgumentException("Unknown phase " + phase + ".");
+        int register = buffer.getInt();
+        int round = buffer.getInt();
+        long seed = buffer.getLong();
+
+        int[] deck = new int[buffer.getInt()];
+        if (deck.length > Deck.DECK_SIZE)
+            throw new IllegalArgumentException("Saved deck has " + deck.length + " cards.");
+        for (int i = 0; i < Deck.DECK_SIZE; i++) {
+            int id = buffer.getInt();
+            if (i < deck.length)
+                deck[i] = id;
+        }
+
+        Color[] colors = new Color[robots];
+        boolean[] bots = new boolean[robots];
+        int[][] visible = new int[robots][HAND_SIZE];
+        int[][] selected = new int[robots][Player.MAX_SELECTED_CARDS];
+        for (int i = 0; i < robots; i++) {
+            int color = buffer.getInt();
+            if (color < 0 || color >= Color.values().length)
+                throw new IllegalArgumentException("Unknown color " + color + ".");
+            colors[i] = Color.values()[color];
+            bots[i] = buffer.getInt() != 0;
+            for (int j = 0; j < HAND_SIZE; j++)
+                visible[i][j] = cardId(buffer.getInt());
+            for (int j = 0; j < Player.MAX_SELECTED_CARDS; j++)
+                selected[i][j] = cardId(buffer.getInt());
+        }
+
+        int[] state = new int[stateLength];
+        for (int i = 0; i < stateLength; i++)
+            state[i] = buffer.getInt();
+
+        return new SavedGame(seed, round, Phase.values()[phase], register, deck, colors, bots, visible, selected, state);
+    }
+
+    private static int cardId(int id) {
+        if (id < -1 || id >= ProgramCard.COUNT)
+            throw new IllegalArgumentException("No card with id " + id + ".");
+        return id;
+    }
+
+    private static long checksum(ByteBuffer buffer, int length) {
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.position(0).limit(length);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * Reads a save file through a FileChannel. The file is not mapped, so it can be replaced
+     * by the next save while the game goes on.
+     *
+     * @param file The file
+     * @return The game saved in it
+     * @throws IOException              if the file could not be read
+     * @throws IllegalArgumentException if it is not a save file of this version, or is corrupt
+     */
+    public static SavedGame load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > size(Board.MAX_PLAYERS, GameState.stateLength(Board.MAX_PLAYERS)))
+                throw new IllegalArgumentException("Not a saved game.");
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining())
+                if (channel.read(buffer) < 0)
+                    throw new IllegalArgumentException("Saved game is truncated.");
+            buffer.flip();
+            return read(buffer);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Num. of rounds dealt
+     */
+    public int getRound() {
+        return round;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return Next register to play, when executing
+     */
+    public int getRegister() {
+        return register;
+    }
+
+    /**
+     * @return Num. of robots, with IDs 0 to getRobots() - 1
+     */
+    public int getRobots() {
+        return colors.length;
+    }
+}
@@ -0,0 +1,62 @@
+package inf112.roborally.tournament;
+
+/**
+ * The outcome of one headless game.
+ */
+public class GameResult {
+
+    private final int game;
+    private final long seed;
+    private final String[] bots;
+
+    /**
+     * ID of the winning robot, or -1 if no robot won.
+     */
+    private final int winner;
+    private final int rounds;
+
+    /**
+     * Lives lost & flags taken by each robot, indexed by robot ID.
+     */
+    private final int[] deaths;
+    private final int[] flags;
+
+
+    public GameResult(int game, long seed, String[] bots, int winner, int rounds, int[] deaths, int[] flags) {
+        this.game = game;
+        this.seed = seed;
+        this.bots = bots;
+        this.winner = winner;
+        this.rounds = rounds;
+        this.deaths = deaths;
+        this.flags = flags;
+    }
+
+    public int getGame() {
+        return game;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String[] getBots() {
+        return bots;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int[] getDeaths() {
+        return deaths;
+    }
+
+    public int[] getFlags() {
+        return flags;
+    }
+}
@@ -0,0 +1,174 @@
+package inf112.roborally.tournament;
+
+import inf112.roborally.ai.BotStrategy;
+import inf112.roborally.ai.ProgramSearch;
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.Deck;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameListener;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Round;
+import inf112.roborally.game.Schedule;
+import inf112.roborally.replay.ReplayWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+
+/**
+ * Plays one game between bots, without any rendering or waiting.
+ * <p>
+ * Each round every robot with lives left is dealt a hand, its bot chooses a program, all
+ * programs are played, and dead robots respawn. A robot that loses its last life is out of
+ * the game. The game ends when a robot wins, when all robots are out, or after a number of
+ * rounds.
+ */
+public class HeadlessGame {
+
+    private final Board board;
+    private final String[] names;
+    private final BotStrategy[] bots;
+    private final Deck deck;
+    private final int maxRounds;
+    private final Schedule schedule = new Schedule();
+
+
+    /**
+     * @param board     The board to play on, may be shared with other games
+     * @param names     Name of each bot's strategy, for the result
+     * @param bots      The strategy of each robot, at most Board.MAX_PLAYERS
+     * @param deck      Stream for the deck draws
+     * @param maxRounds The game is stopped after this many rounds
+     */
+    public HeadlessGame(Board board, String[] names, BotStrategy[] bots, SplittableRandom deck, int maxRounds) {
+        if (bots.length > Board.MAX_PLAYERS)
+            throw new IllegalArgumentException("At most " + Board.MAX_PLAYERS + " robots can play.");
+
+        this.board = board;
+        this.names = names;
+        this.bots = bots;
+        this.deck = new Deck(deck);
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Plays the game to the end.
+     *
+     * @param gameNum Number of the game in its tournament
+     * @param seed    Seed the game was created from
+     * @return The outcome of the game
+     */
+    public GameResult play(int gameNum, long seed) {
+        return play(gameNum, seed, null);
+    }
+
+    /**
+     * Plays the game to the end, recording it.
+     *
+     * @param gameNum Number of the game in its tournament
+     * @param seed    Seed the game was created from
+     * @param replay  Where to write the replay, or null to not record the game. It is closed.
+     * @return The outcome of the game
+     * @throws UncheckedIOException if the replay could not be written
+     */
+    public GameResult play(int gameNum, long seed, OutputStream replay) {
+        Player[] players = new Player[bots.length];
+        for (int i = 0; i < players.length; i++)
+            players[i] = new Player(board.getStartPosition(i), Color.values()[i], i, true);
+
+        GameState game = new GameState(board, players);
+        boolean[] out = new boolean[players.length];
+        game.setListener(new GameListener() {
+            @Override
+            public void robotWon(Player player) {
+            }
+
+            @Override
+            public void robotDestroyed(Player player) {
+                out[player.getID()] = true;
+            }
+        });
+
+        ReplayWriter writer = null;
+        if (replay != null) {
+            try {
+                writer = new ReplayWriter(replay, seed, board.getMapFile(), players, ReplayWriter.SNAPSHOT_INTERVAL);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        ProgramCard[][] hands = new ProgramCard[players.length][];
+        int rounds = 0;
+        while (rounds < maxRounds && !game.isOver() && !allOut(out)) {
+            rounds++;
+            for (Player player : players) {
+                if (out[player.getID()]) {
+                    player.setSelectedCards(new ProgramCard[Player.MAX_SELECTED_CARDS]);
+                    continue;
+                }
+                hands[player.getID()] = deck.take(ProgramSearch.HAND_SIZE);
+                player.setSelectedCards(bots[player.getID()].chooseProgram(game, player, hands[player.getID()]));
+            }
+
+            if (writer == null)
+                Round.playAll(game, schedule);
+            else
+                playRecorded(game, writer);
+
+            for (Player player : players) {
+                // Robots out of the game stay off the board
+                if (out[player.getID()])
+                    player.setDead(true);
+                else if (player.isDead())
+                    player.respawn();
+
+                if (hands[player.getID()] != null)
+                    deck.recycleAll(hands[player.getID()]);
+                hands[player.getID()] = null;
+            }
+        }
+
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        int[] deaths = new int[players.length];
+        int[] flags = new int[players.length];
+        for (Player player : players) {
+            deaths[player.getID()] = 3 - Math.max(player.getLife(), 0);
+            while (flags[player.getID()] < 4 && player.hasFlag(flags[player.getID()] + 1))
+                flags[player.getID()]++;
+        }
+        int winner = game.getWinner() == null ? -1 : game.getWinner().getID();
+        return new GameResult(gameNum, seed, names.clone(), winner, rounds, deaths, flags);
+    }
+
+    /**
+     * Plays a round like Round.playAll, recording each register.
+     */
+    private void playRecorded(GameState game, ReplayWriter writer) {
+        schedule.plan(game);
+        try {
+            for (int register = 0; register < Player.MAX_SELECTED_CARDS && !game.isOver(); register++)
+                writer.playRegister(game, schedule, register);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean allOut(boolean[] out) {
+        for (boolean isOut : out)
+            if (!isOut)
+                return false;
+
+        return true;
+    }
+}
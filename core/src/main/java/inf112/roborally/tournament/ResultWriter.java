@@ -0,0 +1,99 @@
+package inf112.roborally.tournament;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes game results one line at a time, as JSON lines or CSV.
+ * Results can be written from several threads, each line is written whole.
+ */
+public class ResultWriter implements AutoCloseable {
+
+    public enum Format {
+        JSONL,
+        CSV
+    }
+
+    private final Writer out;
+    private final Format format;
+    private boolean wroteHeader = false;
+
+
+    public ResultWriter(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Writes the result of a game as one line.
+     *
+     * @param result The result to write
+     * @throws IOException if the line could not be written
+     */
+    public synchronized void write(GameResult result) throws IOException {
+        if (format == Format.CSV) {
+            if (!wroteHeader)
+                out.write(csvHeader(result.getBots().length));
+            wroteHeader = true;
+            out.write(toCsv(result));
+        } else {
+            out.write(toJson(result));
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private static String toJson(GameResult result) {
+        StringBuilder line = new StringBuilder();
+        line.append("{\"game\":").append(result.getGame())
+                .append(",\"seed\":").append(result.getSeed())
+                .append(",\"winner\":").append(result.getWinner())
+                .append(",\"rounds\":").append(result.getRounds())
+                .append(",\"bots\":[");
+        for (int i = 0; i < result.getBots().length; i++) {
+            if (i > 0)
+                line.append(',');
+            line.append('"').append(result.getBots()[i].replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        line.append("],\"deaths\":");
+        appendArray(line, result.getDeaths());
+        line.append(",\"flags\":");
+        appendArray(line, result.getFlags());
+        return line.append("}\n").toString();
+    }
+
+    private static void appendArray(StringBuilder line, int[] values) {
+        line.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0)
+                line.append(',');
+            line.append(values[i]);
+        }
+        line.append(']');
+    }
+
+    private static String csvHeader(int robots) {
+        StringBuilder line = new StringBuilder("game,seed,winner,rounds");
+        for (int i = 0; i < robots; i++)
+            line.append(",bot").append(i).append(",deaths").append(i).append(",flags").append(i);
+
+        return line.append('\n').toString();
+    }
+
+    private static String toCsv(GameResult result) {
+        StringBuilder line = new StringBuilder();
+        line.append(result.getGame()).append(',')
+                .append(result.getSeed()).append(',')
+                .append(result.getWinner()).append(',')
+                .append(result.getRounds());
+        for (int i = 0; i < result.getBots().length; i++) {
+            line.append(',').append(result.getBots()[i])
+                    .append(',').append(result.getDeaths()[i])
+                    .append(',').append(result.getFlags()[i]);
+        }
+        return line.append('\n').toString();
+    }
+}
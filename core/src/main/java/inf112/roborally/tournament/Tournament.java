@@ -0,0 +1,250 @@
+package inf112.roborally.tournament;
+
+import inf112.roborally.ai.BotStrategy;
+import inf112.roborally.ai.ProgramSearch;
+import inf112.roborally.ai.RandomStrategy;
+import inf112.roborally.board.Board;
+import inf112.roborally.util.RandomStreams;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Plays many bot-only games headlessly on all cores, and streams the result of each game.
+ * <p>
+ * Every game gets its own root seed, derived from the seed of the tournament and the number of
+ * the game, and its deck & bots draw from their own streams split from it. Any game can
+ * therefore be played again on its own, on any thread, with the same result.
+ * <p>
+ * Usage: Tournament [--games N] [--rounds N] [--seed N] [--threads N]
+ * [--bots search,random,...] [--format jsonl|csv] [--out FILE] [--replays DIR]
+ */
+public class Tournament {
+
+    private final Board board;
+    private final String[] bots;
+    private final int maxRounds;
+    private final long seed;
+
+    /**
+     * Shared by all games playing the "search" strategy. It is thread-safe.
+     */
+    private final ProgramSearch search = new ProgramSearch();
+
+    /**
+     * Wins of each seat, counted as games finish.
+     */
+    private final AtomicIntegerArray wins;
+
+    /**
+     * Directory to write a replay of each game to, or null.
+     */
+    private Path replays;
+
+    /**
+     * @param board     The board to play all games on
+     * @param bots      Name of the strategy of each robot, "search" or "random"
+     * @param maxRounds Games are stopped after this many rounds
+     * @param seed      Seed of the tournament
+     */
+    public Tournament(Board board, String[] bots, int maxRounds, long seed) {
+        if (bots.length == 0 || bots.length > Board.MAX_PLAYERS)
+            throw new IllegalArgumentException("Between 1 and " + Board.MAX_PLAYERS + " bots must play.");
+
+        this.board = board;
+        this.bots = bots;
+        this.maxRounds = maxRounds;
+        this.seed = seed;
+        this.wins = new AtomicIntegerArray(bots.length);
+        for (String bot : bots)
+            strategy(bot, null);
+    }
+
+    /**
+     * Records every game played from now on, as "game-N.rrp" in a directory.
+     *
+     * @param dir The directory, which is created if missing, or null to stop recording
+     * @throws IOException if the directory could not be created
+     */
+    public void setReplays(Path dir) throws IOException {
+        if (dir != null)
+            Files.createDirectories(dir);
+        this.replays = dir;
+    }
+
+    /**
+     * @param name   Name of the strategy
+     * @param random Stream for the strategy's choices, if it makes any
+     * @return The strategy
+     * @throws IllegalArgumentException if there is no strategy with that name
+     */
+    private BotStrategy strategy(String name, SplittableRandom random) {
+        switch (name) {
+            case "search":
+                return search;
+
+            case "random":
+                return new RandomStrategy(random);
+
+            default:
+                throw new IllegalArgumentException("Unknown bot strategy \"" + name + "\".");
+        }
+    }
+
+    /**
+     * Plays one game of the tournament.
+     *
+     * @param game Number of the game
+     * @return The outcome of the game
+     */
+    public GameResult playGame(int game) {
+        RandomStreams random = new RandomStreams(RandomStreams.gameSeed(seed, game), bots.length);
+        BotStrategy[] strategies = new BotStrategy[bots.length];
+        for (int i = 0; i < bots.length; i++)
+            strategies[i] = strategy(bots[i], random.bot(i));
+
+        HeadlessGame headless = new HeadlessGame(board, bots, strategies, random.deck(), maxRounds);
+        GameResult result;
+        if (replays == null) {
+            result = headless.play(game, random.getSeed());
+        } else {
+            OutputStream replay;
+            try {
+                replay = Files.newOutputStream(replays.resolve("game-" + game + ".rrp"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            result = headless.play(game, random.getSeed(), replay);
+        }
+        if (result.getWinner() >= 0)
+            wins.incrementAndGet(result.getWinner());
+
+        return result;
+    }
+
+    /**
+     * Plays games on a pool of threads, writing each result as soon as its game is over.
+     *
+     * @param games   Number of games to play
+     * @param threads Number of threads to play on
+     * @param out     Where to write the results
+     * @throws Exception if a game failed or a result could not be written
+     */
+    public void run(int games, int threads, ResultWriter out) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < games; i++) {
+                final int game = i;
+                results.add(pool.submit(() -> {
+                    out.write(playGame(game));
+                    return null;
+                }));
+            }
+            for (Future<?> result : results)
+                result.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @param seat Index of the robot
+     * @return Number of games the robot has won so far
+     */
+    public int getWins(int seat) {
+        return wins.get(seat);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = 100;
+        int rounds = 50;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String[] bots = {"search", "random", "random", "random"};
+        ResultWriter.Format format = ResultWriter.Format.JSONL;
+        String outFile = null;
+        String replayDir = null;
+
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 == args.length)
+                usage("Missing value for " + args[i]);
+
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--games":
+                    games = Integer.parseInt(value);
+                    break;
+
+                case "--rounds":
+                    rounds = Integer.parseInt(value);
+                    break;
+
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+
+                case "--bots":
+                    bots = value.split(",");
+                    break;
+
+                case "--format":
+                    format = ResultWriter.Format.valueOf(value.toUpperCase());
+                    break;
+
+                case "--out":
+                    outFile = value;
+                    break;
+
+                case "--replays":
+                    replayDir = value;
+                    break;
+
+                default:
+                    usage("Unknown option " + args[i - 1]);
+            }
+        }
+
+        Tournament tournament = new Tournament(new Board(), bots, rounds, seed);
+        if (replayDir != null)
+            tournament.setReplays(Paths.get(replayDir));
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                outFile == null ? System.out : new FileOutputStream(outFile), StandardCharsets.UTF_8));
+
+        long start = System.nanoTime();
+        try (ResultWriter out = new ResultWriter(writer, format)) {
+            tournament.run(games, threads, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf("%d games in %.1f s (%.0f games/min)%n", games, seconds, games / seconds * 60);
+        for (int i = 0; i < bots.length; i++)
+            System.err.printf("  robot %d (%s): %d wins%n", i, bots[i], tournament.getWins(i));
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: Tournament [--games N] [--rounds N] [--seed N] [--threads N] "
+                + "[--bots search,random,...] [--format jsonl|csv] [--out FILE] [--replays DIR]");
+        System.exit(1);
+    }
+}
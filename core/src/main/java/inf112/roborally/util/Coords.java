@@ -0,0 +1,48 @@
+package inf112.roborally.util;
+
+import inf112.roborally.entities.Direction;
+
+/**
+ * Static helpers for cell coordinates packed into a single int.
+ * <p>
+ * x is kept in the high 16 bits and y in the low 16 bits, both signed, so a robot
+ * that has stepped off the board still has a valid position. Packing and stepping
+ * allocate nothing, unlike {@link Position}.
+ */
+public final class Coords {
+
+    private Coords() {
+    }
+
+    /**
+     * @return x & y packed into one int
+     */
+    public static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    public static int x(int packed) {
+        return packed >> 16;
+    }
+
+    public static int y(int packed) {
+        return (short) packed;
+    }
+
+    /**
+     * @param packed A packed position
+     * @param dir    The direction to step in
+     * @return The packed position one step away in the given direction
+     */
+    public static int step(int packed, Direction dir) {
+        return pack(x(packed) + dir.dx, y(packed) + dir.dy);
+    }
+
+    public static Position toPosition(int packed) {
+        return new Position(x(packed), y(packed));
+    }
+
+    public static int fromPosition(Position pos) {
+        return pack(pos.getX(), pos.getY());
+    }
+}
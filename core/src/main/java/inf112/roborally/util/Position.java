@@ -0,0 +1,53 @@
+package inf112.roborally.util;
+
+import inf112.roborally.entities.Direction;
+
+/**
+ * An immutable cell position (x, y) on the board.
+ */
+public final class Position {
+
+    private final int x;
+    private final int y;
+
+
+    public Position(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @param dir The direction to step in
+     * @return The position one step away in the given direction
+     */
+    public Position step(Direction dir) {
+        return new Position(x + dir.dx, y + dir.dy);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Position)) return false;
+
+        Position other = (Position) o;
+        return x == other.x && y == other.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
@@ -0,0 +1,69 @@
+package inf112.roborally.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * The random number streams of one game, all split from one root seed.
+ * <p>
+ * Each part of the game that makes random choices gets its own stream, so the choices of one
+ * part do not shift those of another, and a game can be played again from its seed alone.
+ * The streams are split in a fixed order when the game is created. A stream is not
+ * thread-safe, and must only be used by the thread running the game.
+ */
+public final class RandomStreams {
+
+    private final long seed;
+    private final SplittableRandom deck;
+    private final SplittableRandom powerDown;
+    private final SplittableRandom[] bots;
+
+
+    /**
+     * @param seed Root seed of the game
+     * @param bots Number of bots to make streams for
+     */
+    public RandomStreams(long seed, int bots) {
+        SplittableRandom root = new SplittableRandom(seed);
+        this.seed = seed;
+        this.deck = root.split();
+        this.powerDown = root.split();
+        this.bots = new SplittableRandom[bots];
+        for (int i = 0; i < bots; i++)
+            this.bots[i] = root.split();
+    }
+
+    /**
+     * @param seed Seed of a tournament, or of anything else that creates many games
+     * @param game Number of the game
+     * @return The root seed of the game
+     */
+    public static long gameSeed(long seed, int game) {
+        return new SplittableRandom(seed + game).nextLong();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Stream for shuffling the deck
+     */
+    public SplittableRandom deck() {
+        return deck;
+    }
+
+    /**
+     * @return Stream for deciding if robots power down
+     */
+    public SplittableRandom powerDown() {
+        return powerDown;
+    }
+
+    /**
+     * @param bot Index of the bot
+     * @return Stream for the choices of the bot
+     */
+    public SplittableRandom bot(int bot) {
+        return bots[bot];
+    }
+}
@@ -0,0 +1,71 @@
+package inf112.roborally.tests;
+
+
+import inf112.roborally.entities.Direction;
+import inf112.roborally.board.Board;
+import inf112.roborally.board.TileType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class BoardTest {
+
+    private static Board board;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    @Test
+    public void testTileSizeEquals60px() {
+        assertEquals(Board.TILE_SIZE, 60);
+    }
+
+    @Test
+    public void testDimensions() {
+        assertEquals(24, board.getWidth());
+        assertEquals(12, board.getHeight());
+    }
+
+    @Test
+    public void testFlagCells() {
+        assertEquals(5 * 24 + 23, board.getFlagCell(1));
+        assertEquals(5 * 24 + 2, board.getFlagCell(2));
+        assertEquals(4 * 24 + 14, board.getFlagCell(3));
+        assertEquals(11 * 24 + 7, board.getFlagCell(4));
+    }
+
+    @Test
+    public void testTileTypes() {
+        assertEquals(TileType.FLAG1, board.getTileType("OEvents", 23, 5));
+        assertEquals(TileType.HOLE, board.getTileType("OEvents", 4, 10));
+        assertEquals(TileType.EXPRESS_CONVEYOR_NORTH, board.getTileType("OMovers", 3, 11));
+    }
+
+    @Test
+    public void testOutsideBoardIsNone() {
+        assertEquals(TileType.NONE, board.getTileType("OEvents", -1, 0));
+        assertEquals(TileType.NONE, board.getTileType("OEvents", 24, 0));
+    }
+
+    @Test
+    public void testWallIsMirroredOnNeighbour() {
+        // Wall_West on (8, 4)
+        assertFalse(board.canCross(8, 4, Direction.WEST));
+        assertFalse(board.canCross(7, 4, Direction.EAST));
+        assertTrue(board.canCross(8, 4, Direction.EAST));
+    }
+
+    @Test
+    public void testLaserBeamsAreWallBounded() {
+        assertEquals(7, board.getLaserBeams().size());
+        for (int beam = 0; beam < board.getLaserBeams().size(); beam++)
+            assertTrue(board.getLaserBeams().getLength(beam) > 0);
+    }
+}
+
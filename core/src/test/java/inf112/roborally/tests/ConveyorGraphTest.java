@@ -0,0 +1,68 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.entities.Direction;
+import inf112.roborally.board.ConveyorGraph;
+import inf112.roborally.board.TileType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ConveyorGraphTest {
+
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = 3;
+
+    private TileType[] movers;
+
+    @Before
+    public void initialize() {
+        movers = new TileType[WIDTH * HEIGHT];
+        Arrays.fill(movers, TileType.NONE);
+    }
+
+    private int cell(int x, int y) {
+        return y * WIDTH + x;
+    }
+
+    @Test
+    public void testNoBelt() {
+        ConveyorGraph graph = new ConveyorGraph(movers, WIDTH, HEIGHT);
+        assertEquals(0, graph.getSpeed(cell(1, 1)));
+        assertNull(graph.getDirection(cell(1, 1)));
+    }
+
+    @Test
+    public void testStraightBelt() {
+        movers[cell(1, 1)] = TileType.EXPRESS_CONVEYOR_EAST;
+        ConveyorGraph graph = new ConveyorGraph(movers, WIDTH, HEIGHT);
+
+        assertEquals(2, graph.getSpeed(cell(1, 1)));
+        assertEquals(Direction.EAST, graph.getDirection(cell(1, 1)));
+        assertEquals(cell(2, 1), graph.getExit(cell(1, 1)));
+        assertEquals(0, graph.getRotation(cell(1, 1)));
+    }
+
+    @Test
+    public void testRotatesOntoTurningBelt() {
+        movers[cell(1, 1)] = TileType.NORMAL_CONVEYOR_EAST;
+        movers[cell(2, 1)] = TileType.NORMAL_CONVEYOR_EAST_NORTH;
+        movers[cell(2, 2)] = TileType.NORMAL_CONVEYOR_NORTH;
+        ConveyorGraph graph = new ConveyorGraph(movers, WIDTH, HEIGHT);
+
+        assertEquals(-1, graph.getRotation(cell(1, 1)));  // Carried onto a left turn
+        assertEquals(0, graph.getRotation(cell(2, 1)));
+        assertEquals(cell(2, 2), graph.getExit(cell(2, 1)));
+    }
+
+    @Test
+    public void testBeltOffBoard() {
+        movers[cell(3, 2)] = TileType.NORMAL_CONVEYOR_EAST;
+        ConveyorGraph graph = new ConveyorGraph(movers, WIDTH, HEIGHT);
+
+        assertEquals(ConveyorGraph.OFF_BOARD, graph.getExit(cell(3, 2)));
+    }
+}
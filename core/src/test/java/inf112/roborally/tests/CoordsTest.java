@@ -0,0 +1,43 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.entities.Direction;
+import inf112.roborally.util.Coords;
+import inf112.roborally.util.Position;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CoordsTest {
+
+    @Test
+    public void testPackAndUnpack() {
+        int packed = Coords.pack(23, 11);
+        assertEquals(23, Coords.x(packed));
+        assertEquals(11, Coords.y(packed));
+    }
+
+    @Test
+    public void testNegativeCoordinatesSurvivePacking() {
+        int packed = Coords.pack(-1, -1);
+        assertEquals(-1, Coords.x(packed));
+        assertEquals(-1, Coords.y(packed));
+    }
+
+    @Test
+    public void testStepOffTheBoard() {
+        int packed = Coords.step(Coords.pack(0, 0), Direction.SOUTH);
+        assertEquals(0, Coords.x(packed));
+        assertEquals(-1, Coords.y(packed));
+
+        packed = Coords.step(packed, Direction.WEST);
+        assertEquals(-1, Coords.x(packed));
+        assertEquals(-1, Coords.y(packed));
+    }
+
+    @Test
+    public void testMatchesPosition() {
+        Position pos = new Position(5, 7);
+        for (Direction dir : Direction.values())
+            assertEquals(pos.step(dir), Coords.toPosition(Coords.step(Coords.fromPosition(pos), dir)));
+    }
+}
@@ -0,0 +1,127 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.cards.Deck;
+import inf112.roborally.cards.ProgramCard;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DeckTest {
+
+    private Deck deck;
+
+    @Before
+    public void initialize() {
+        deck = new Deck();
+    }
+
+    @Test
+    public void sizeTest() {
+        assertEquals(deck.size(), Deck.DECK_SIZE);
+    }
+
+    @Test
+    public void testRecycleSizeIsConsistent() {
+        ProgramCard card = deck.pop();
+        assertEquals(Deck.DECK_SIZE - 1, deck.size());
+
+        deck.recycle(card);
+        assertEquals(Deck.DECK_SIZE, deck.size());
+    }
+
+    @Test
+    public void testRecycleAllSizes() {
+        sizeTest();  // Before
+
+        ProgramCard[] toBeRecycled = deck.take(5);
+        assertEquals(5, toBeRecycled.length);
+
+        assertEquals(Deck.DECK_SIZE - toBeRecycled.length, deck.size());  // During
+
+        deck.recycleAll(toBeRecycled);
+        sizeTest();  // After
+    }
+
+    @Test
+    public void testNoNullCards() {
+        for (ProgramCard c : deck)
+            assertNotNull(c);
+    }
+
+    @Test
+    public void testTakeCardsNotNull() {
+        Deck deck = new Deck();
+        for (ProgramCard card : deck.take(Deck.DECK_SIZE)) {
+            assertNotNull(card);
+        }
+    }
+
+    @Test
+    public void testSameSeedDealsSameCards() {
+        Deck first = new Deck(new SplittableRandom(42));
+        Deck second = new Deck(new SplittableRandom(42));
+        for (int i = 0; i < Deck.DECK_SIZE; i++)
+            assertEquals(first.pop().getPriority(), second.pop().getPriority());
+    }
+
+    @Test
+    public void testShuffleKeepsAllCards() {
+        Set<ProgramCard> before = new HashSet<>();
+        for (ProgramCard card : deck)
+            before.add(card);
+        deck.shuffle();
+        assertEquals(Deck.DECK_SIZE, deck.size());
+
+        Set<ProgramCard> after = new HashSet<>();
+        for (ProgramCard card : deck)
+            after.add(card);
+        assertEquals(before, after);
+    }
+
+    @Test
+    public void testDrawsEveryCardOnce() {
+        Set<ProgramCard> drawn = new HashSet<>();
+        for (ProgramCard card : deck.take(Deck.DECK_SIZE))
+            assertTrue(drawn.add(card));
+        assertEquals(0, deck.size());
+    }
+
+    @Test
+    public void testCardsAreInterned() {
+        for (ProgramCard card : deck.take(Deck.DECK_SIZE)) {
+            assertSame(card, ProgramCard.fromId(card.getId()));
+            assertEquals((card.getId() + 1) * 10, card.getPriority());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecycleCardInDeckFails() {
+        deck.recycle(ProgramCard.fromId(0));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPopEmptyDeckFails() {
+        deck.take(Deck.DECK_SIZE);
+        deck.pop();
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        deck.take(10);
+        Deck copy = deck.copy(new SplittableRandom(1));
+        assertEquals(deck.size(), copy.size());
+
+        copy.take(5);
+        assertEquals(Deck.DECK_SIZE - 10, deck.size());
+        assertEquals(Deck.DECK_SIZE - 15, copy.size());
+    }
+}
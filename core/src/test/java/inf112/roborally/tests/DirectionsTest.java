@@ -0,0 +1,68 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.entities.Direction;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DirectionsTest {
+
+    @Test
+    public void testDirectionsLength() {
+        assertEquals(4, Direction.values().length);
+    }
+
+    @Test
+    public void testHasAllDirections() {
+        for (Direction dir : Direction.values()) {
+            assertTrue(
+                    dir == Direction.NORTH ||
+                            dir == Direction.EAST ||
+                            dir == Direction.SOUTH ||
+                            dir == Direction.WEST
+            );
+        }
+    }
+
+    @Test
+    public void testEdgeBitsAreDistinct() {
+        int mask = 0;
+        for (Direction dir : Direction.values()) {
+            assertEquals(0, mask & dir.edge);
+            mask |= dir.edge;
+        }
+        assertEquals(0xF, mask);
+    }
+
+    @Test
+    public void testStepsAreUnitLength() {
+        for (Direction dir : Direction.values())
+            assertEquals(1, Math.abs(dir.dx) + Math.abs(dir.dy));
+    }
+
+    @Test
+    public void testTurningRightGoesClockwise() {
+        assertEquals(Direction.EAST, Direction.NORTH.right());
+        assertEquals(Direction.SOUTH, Direction.EAST.right());
+        assertEquals(Direction.WEST, Direction.SOUTH.right());
+        assertEquals(Direction.NORTH, Direction.WEST.right());
+    }
+
+    @Test
+    public void testTurnsUndoEachOther() {
+        for (Direction dir : Direction.values()) {
+            assertEquals(dir, dir.right().left());
+            assertEquals(dir, dir.opposite().opposite());
+            assertEquals(dir.opposite(), dir.turn(-2));
+        }
+    }
+
+    @Test
+    public void testOppositeStepsCancel() {
+        for (Direction dir : Direction.values()) {
+            assertEquals(0, dir.dx + dir.opposite().dx);
+            assertEquals(0, dir.dy + dir.opposite().dy);
+        }
+    }
+}
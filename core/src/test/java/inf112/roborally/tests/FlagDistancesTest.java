@@ -0,0 +1,54 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.board.FlagDistances;
+import inf112.roborally.entities.Direction;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FlagDistancesTest {
+
+    private static FlagDistances distances;
+
+    @BeforeClass
+    public static void loadBoard() {
+        distances = new Board().getFlagDistances();
+    }
+
+    @Test
+    public void testStandingOnFlag() {
+        // Flag 1 is at (23, 5)
+        for (Direction dir : Direction.values())
+            assertEquals(0, distances.getDistance(1, 23, 5, dir));
+    }
+
+    @Test
+    public void testOneMoveAway() {
+        assertEquals(1, distances.getDistance(1, 23, 2, Direction.NORTH));
+    }
+
+    @Test
+    public void testFacingAwayIsFurther() {
+        assertTrue(distances.getDistance(1, 23, 2, Direction.SOUTH) > 1);
+    }
+
+    @Test
+    public void testHoleIsUnreachable() {
+        assertEquals(FlagDistances.UNREACHABLE, distances.getDistance(1, 10, 1, Direction.NORTH));
+    }
+
+    @Test
+    public void testOffBoardIsUnreachable() {
+        assertEquals(FlagDistances.UNREACHABLE, distances.getDistance(1, -1, 0, Direction.NORTH));
+        assertEquals(FlagDistances.UNREACHABLE, distances.getDistance(4, 24, 0, Direction.NORTH));
+    }
+
+    @Test
+    public void testEveryFlagReachableFromStart() {
+        for (int flag = 1; flag <= 4; flag++)
+            assertTrue(distances.getDistance(flag, 6, 1, Direction.NORTH) < FlagDistances.UNREACHABLE);
+    }
+}
@@ -0,0 +1,101 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.profiling.FrameProfiler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FrameProfilerTest {
+
+    private static final long MS = 1_000_000;
+
+    /**
+     * The time returned by the profiler's clock, moved by the tests.
+     */
+    private long now;
+    private FrameProfiler profiler;
+
+    @Before
+    public void initialize() {
+        now = 0;
+        profiler = new FrameProfiler(new String[]{"map", "stage"}, 100, () -> now);
+    }
+
+    private void frame(long ms) {
+        profiler.beginFrame();
+        now += ms * MS;
+        profiler.endFrame();
+    }
+
+    @Test
+    public void testPercentilesBeforeFirstFrame() {
+        assertEquals(0, profiler.getFramePercentile(50), 0);
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int ms = 1; ms <= 100; ms++)
+            frame(ms);
+
+        assertEquals(50, profiler.getFramePercentile(50), 1e-9);
+        assertEquals(99, profiler.getFramePercentile(99), 1e-9);
+        assertEquals(100, profiler.getFramePercentile(100), 1e-9);
+        assertEquals(100, profiler.getFrameTime(), 1e-9);
+    }
+
+    @Test
+    public void testWindowForgetsOldFrames() {
+        for (int i = 0; i < 100; i++)
+            frame(50);
+        for (int i = 0; i < 100; i++)
+            frame(1);
+
+        assertEquals(1, profiler.getFramePercentile(99), 1e-9);
+        assertEquals(200, profiler.getFrames());
+    }
+
+    @Test
+    public void testSectionsAddUp() {
+        profiler.beginFrame();
+        profiler.begin(0);
+        now += 2 * MS;
+        profiler.end(0);
+        profiler.begin(1);
+        now += 3 * MS;
+        profiler.end(1);
+        profiler.begin(0);
+        now += MS;
+        profiler.end(0);
+        profiler.endFrame();
+
+        assertEquals(3, profiler.getSectionTime(0), 1e-9);
+        assertEquals(3, profiler.getSectionTime(1), 1e-9);
+        assertEquals(6, profiler.getFrameTime(), 1e-9);
+
+        // Sections start from zero each frame
+        frame(1);
+        assertEquals(0, profiler.getSectionTime(0), 0);
+    }
+
+    @Test
+    public void testExportWritesFramesAndPhases() throws IOException {
+        StringWriter out = new StringWriter();
+        profiler.setExport(out);
+        profiler.phase("deal");
+        frame(4);
+        now += 6 * MS;
+        profiler.phase("execute");
+        profiler.close();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"frame\":1,\"ms\":4.0,\"sections\":{\"map\":0.0,\"stage\":0.0},\"gc\":"));
+        assertEquals("{\"phase\":\"deal\",\"ms\":10.0}", lines[1]);
+        assertEquals("{\"phase\":\"execute\",\"ms\":0.0}", lines[2]);
+    }
+}
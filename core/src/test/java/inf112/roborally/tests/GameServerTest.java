@@ -0,0 +1,293 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Player;
+import inf112.roborally.net.GameClient;
+import inf112.roborally.net.GameServer;
+import inf112.roborally.net.Protocol;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static org.junit.Assert.*;
+
+public class GameServerTest {
+
+    private static Board board;
+
+    private GameServer server;
+    private InetSocketAddress address;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    @Before
+    public void startServer() throws IOException {
+        server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), board, 3, 1);
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    /**
+     * Reads a message of a given type.
+     */
+    private static ByteBuffer expect(GameClient client, byte type) throws IOException {
+        ByteBuffer message = client.read();
+        assertEquals(type, message.get());
+        return message;
+    }
+
+    /**
+     * Programs the first cards of a HAND message.
+     *
+     * @return The round
+     */
+    private static int programFirstCards(GameClient client, ByteBuffer hand) throws IOException {
+        int round = hand.getInt();
+        assertEquals(9, hand.get());
+        int[] program = new int[Player.MAX_SELECTED_CARDS];
+        for (int i = 0; i < program.length; i++)
+            program[i] = hand.get();
+        client.program(round, program);
+        return round;
+    }
+
+    /**
+     * Plays with the first cards of every hand until the game is over.
+     *
+     * @return Num. of registers received
+     */
+    private static int playToEnd(GameClient client) throws IOException {
+        int registers = 0;
+        while (true) {
+            ByteBuffer message = client.read();
+            switch (message.get()) {
+                case Protocol.HAND:
+                    programFirstCards(client, message);
+                    break;
+
+                case Protocol.REGISTER:
+                    registers++;
+                    break;
+
+                case Protocol.GAME_OVER:
+                    return registers;
+
+                default:
+                    fail("Unexpected message");
+            }
+        }
+    }
+
+    @Test
+    public void testSinglePlayerSession() throws IOException {
+        try (GameClient client = new GameClient(address)) {
+            client.create(2, 1);
+            ByteBuffer joined = expect(client, Protocol.JOINED);
+            joined.getInt();
+            assertEquals(0, joined.get());
+            assertEquals(2, joined.get());
+
+            ByteBuffer hand = expect(client, Protocol.HAND);
+            int[] cards = new int[Player.MAX_SELECTED_CARDS];
+            assertEquals(1, hand.getInt());
+            assertEquals(9, hand.get());
+            for (int i = 0; i < cards.length; i++)
+                cards[i] = hand.get();
+            client.program(1, cards);
+
+            ByteBuffer register = expect(client, Protocol.REGISTER);
+            assertEquals(1, register.getInt());
+            assertEquals(0, register.get());
+            int steps = register.get();
+            assertTrue(steps >= 1 && steps <= 2);
+            boolean playedOwnCard = false;
+            int lastPriority = -1;
+            for (int i = 0; i < steps; i++) {
+                int robot = register.get();
+                int card = register.get();
+                int priority = ProgramCard.fromId(card).getPriority();
+                assertTrue(priority > lastPriority);
+                lastPriority = priority;
+                playedOwnCard |= robot == 0 && card == cards[0];
+            }
+            assertTrue(playedOwnCard);
+            assertEquals(2, register.get());
+            assertEquals(2 * Protocol.ROBOT_BYTES, register.remaining());
+        }
+    }
+
+    @Test
+    public void testGameEndsAfterMaxRounds() throws IOException {
+        try (GameClient client = new GameClient(address)) {
+            client.create(4, 1);
+            expect(client, Protocol.JOINED);
+            int registers = playToEnd(client);
+            assertTrue(registers > 0 && registers <= 3 * Player.MAX_SELECTED_CARDS);
+        }
+    }
+
+    @Test
+    public void testTwoClientsShareSession() throws IOException {
+        try (GameClient a = new GameClient(address); GameClient b = new GameClient(address)) {
+            a.create(3, 2);
+            int session = expect(a, Protocol.JOINED).getInt();
+            b.join(session);
+            ByteBuffer joined = expect(b, Protocol.JOINED);
+            assertEquals(session, joined.getInt());
+            assertEquals(1, joined.get());
+
+            programFirstCards(a, expect(a, Protocol.HAND));
+            programFirstCards(b, expect(b, Protocol.HAND));
+
+            ByteBuffer first = expect(a, Protocol.REGISTER);
+            ByteBuffer copy = ByteBuffer.allocate(first.remaining()).put(first);
+            copy.flip();
+            ByteBuffer second = expect(b, Protocol.REGISTER);
+            assertEquals(copy, second);
+        }
+    }
+
+    @Test
+    public void testFullSessionIsRejected() throws IOException {
+        try (GameClient a = new GameClient(address); GameClient b = new GameClient(address)) {
+            a.create(2, 1);
+            int session = expect(a, Protocol.JOINED).getInt();
+            b.join(session);
+            assertEquals(Protocol.SESSION_FULL, expect(b, Protocol.ERROR).get());
+
+            b.join(12345);
+            assertEquals(Protocol.NO_SESSION, expect(b, Protocol.ERROR).get());
+        }
+    }
+
+    @Test
+    public void testInvalidProgramIsRejected() throws IOException {
+        try (GameClient client = new GameClient(address)) {
+            client.create(2, 1);
+            expect(client, Protocol.JOINED);
+            ByteBuffer hand = expect(client, Protocol.HAND);
+            int round = hand.getInt();
+            hand.get();
+            int first = hand.get();
+
+            // The same card five times
+            client.program(round, new int[]{first, first, first, first, first});
+            assertEquals(Protocol.BAD_PROGRAM, expect(client, Protocol.ERROR).get());
+
+            // Not this round
+            client.program(round + 1, new int[]{first, first, first, first, first});
+            assertEquals(Protocol.BAD_PROGRAM, expect(client, Protocol.ERROR).get());
+        }
+    }
+
+    @Test
+    public void testLeavingClientIsReplacedByBot() throws IOException {
+        try (GameClient a = new GameClient(address)) {
+            int session;
+            try (GameClient b = new GameClient(address)) {
+                a.create(2, 2);
+                session = expect(a, Protocol.JOINED).getInt();
+                b.join(session);
+                expect(b, Protocol.JOINED);
+                expect(b, Protocol.HAND);
+            }
+            assertTrue(playToEnd(a) > 0);
+        }
+    }
+
+    @Test
+    public void testClientThatStopsReadingIsDropped() throws IOException {
+        try (GameClient a = new GameClient(address); SocketChannel b = SocketChannel.open()) {
+            b.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+            b.connect(address);
+            a.create(2, 2);
+            int session = expect(a, Protocol.JOINED).getInt();
+
+            ByteBuffer join = ByteBuffer.allocate(7);
+            join.putShort((short) 5).put(Protocol.JOIN).putInt(session).flip();
+            b.write(join);
+
+            // Programs for the wrong round, each answered with an error that is never read
+            ByteBuffer programs = ByteBuffer.allocate(12 * 5000);
+            while (programs.hasRemaining())
+                programs.putShort((short) 10).put(Protocol.PROGRAM).putInt(99).put(new byte[5]);
+            boolean dropped = false;
+            for (int i = 0; i < 2000 && !dropped; i++) {
+                programs.rewind();
+                try {
+                    while (programs.hasRemaining())
+                        b.write(programs);
+                } catch (IOException e) {
+                    dropped = true;
+                }
+            }
+            assertTrue(dropped);
+
+            // A bot took over the dropped client's robot
+            assertTrue(playToEnd(a) > 0);
+        }
+    }
+
+    @Test
+    public void testManyConcurrentSessions() throws Exception {
+        GameClient[] clients = new GameClient[200];
+        try {
+            for (int i = 0; i < clients.length; i++) {
+                clients[i] = new GameClient(address);
+                clients[i].create(4, 1);
+            }
+            for (GameClient client : clients)
+                expect(client, Protocol.JOINED);
+            assertEquals(clients.length, server.getSessions());
+
+            // Every client plays a round before any plays the next
+            boolean[] over = new boolean[clients.length];
+            int left = clients.length;
+            while (left > 0) {
+                for (int i = 0; i < clients.length; i++) {
+                    if (over[i])
+                        continue;
+
+                    ByteBuffer message;
+                    do {
+                        message = clients[i].read();
+                    } while (message.get(message.position()) == Protocol.REGISTER);
+
+                    if (message.get() == Protocol.HAND) {
+                        programFirstCards(clients[i], message);
+                    } else {
+                        over[i] = true;
+                        left--;
+                    }
+                }
+            }
+        } finally {
+            for (GameClient client : clients)
+                if (client != null)
+                    client.close();
+        }
+
+        // Sessions are dropped as they end
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getSessions() > 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertEquals(0, server.getSessions());
+    }
+}
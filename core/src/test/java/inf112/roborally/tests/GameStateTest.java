@@ -0,0 +1,367 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.cards.CardType;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+import inf112.roborally.events.EventUtil;
+import inf112.roborally.game.GameListener;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Occupancy;
+import inf112.roborally.board.Board;
+import inf112.roborally.util.Position;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class GameStateTest {
+
+    private static Board board;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    private static Player player(int id, int x, int y) {
+        return new Player(new Position(x, y), Color.values()[id % 4], id, true);
+    }
+
+    @Test
+    public void testOccupancyFollowsMoves() {
+        Player a = player(0, 0, 1);
+        GameState game = new GameState(board, new Player[]{a});
+        assertEquals(0, game.getOccupancy().get(0, 1));
+
+        a.move(game, Direction.NORTH, 1);
+        assertEquals(Occupancy.EMPTY, game.getOccupancy().get(0, 1));
+        assertEquals(0, game.getOccupancy().get(0, 2));
+    }
+
+    @Test
+    public void testPushChain() {
+        Player a = player(0, 0, 1);
+        Player b = player(1, 1, 1);
+        Player c = player(2, 2, 1);
+        GameState game = new GameState(board, new Player[]{a, b, c});
+
+        a.move(game, Direction.EAST, 1);
+        assertEquals(new Position(1, 1), a.getPos());
+        assertEquals(new Position(2, 1), b.getPos());
+        assertEquals(new Position(3, 1), c.getPos());
+        assertEquals(2, game.getOccupancy().get(3, 1));
+    }
+
+    @Test
+    public void testPushChainBlockedByWall() {
+        // (7, 3) has a wall on its east side
+        Player a = player(0, 5, 3);
+        Player b = player(1, 6, 3);
+        Player c = player(2, 7, 3);
+        GameState game = new GameState(board, new Player[]{a, b, c});
+
+        a.move(game, Direction.EAST, 1);
+        assertEquals(new Position(5, 3), a.getPos());
+        assertEquals(new Position(6, 3), b.getPos());
+        assertEquals(new Position(7, 3), c.getPos());
+    }
+
+    @Test
+    public void testConveyorMovesRobot() {
+        Player a = player(0, 0, 8);  // Normal conveyor east
+        GameState game = new GameState(board, new Player[]{a});
+
+        EventUtil.handleEvent(game);
+        assertEquals(new Position(1, 8), a.getPos());
+    }
+
+    @Test
+    public void testConveyorBlockedByStandingRobot() {
+        Player a = player(0, 2, 8);  // Normal conveyor east, onto (3, 8)
+        Player b = player(1, 3, 8);  // No conveyor
+        GameState game = new GameState(board, new Player[]{a, b});
+
+        EventUtil.handleEvent(game);
+        assertEquals(new Position(2, 8), a.getPos());
+        assertEquals(new Position(3, 8), b.getPos());
+    }
+
+    @Test
+    public void testRobotDyingInHoleLeavesRobotOnItsBackup() {
+        Player a = player(0, 3, 10);  // Next to the hole at (4, 10)
+        Player b = player(1, 6, 6);
+        a.setBackup(new Position(6, 6));
+        GameState game = new GameState(board, new Player[]{a, b});
+
+        a.move(game, Direction.EAST, 1);
+        assertTrue(a.isDead());
+        assertEquals(b.getID(), game.getOccupancy().get(6, 6));
+        assertEquals(Occupancy.EMPTY, game.getOccupancy().get(4, 10));
+
+        // Respawning next to the robot on its backup
+        a.respawn();
+        assertFalse(a.isDead());
+        assertEquals(new Position(6, 6), b.getPos());
+        assertNotEquals(b.getPos(), a.getPos());
+        assertEquals(b.getID(), game.getOccupancy().get(6, 6));
+        assertEquals(a.getID(), game.getOccupancy().get(a.getX(), a.getY()));
+    }
+
+    @Test
+    public void testFallingIntoHoleTakesOneLife() {
+        Player a = player(0, 3, 10);  // Next to the hole at (4, 10)
+        a.setDir(Direction.EAST);
+        GameState game = new GameState(board, new Player[]{a});
+        int life = a.getLife();
+
+        a.executeCard(game, new ProgramCard(CardType.MOVE1, 100));
+        assertTrue(a.isDead());
+        assertEquals(life - 1, a.getLife());
+    }
+
+    @Test
+    public void testDrivingOffBoardTakesOneLife() {
+        Player a = player(0, 0, 5);
+        a.setDir(Direction.WEST);
+        GameState game = new GameState(board, new Player[]{a});
+        int life = a.getLife();
+
+        a.executeCard(game, new ProgramCard(CardType.MOVE3, 100));
+        assertTrue(a.isDead());
+        assertEquals(life - 1, a.getLife());
+    }
+
+    @Test
+    public void testRobotDestroyedByDamageLeavesRobotOnItsBackup() {
+        Player a = player(0, 3, 3);
+        Player b = player(1, 6, 6);
+        a.setBackup(new Position(6, 6));
+        GameState game = new GameState(board, new Player[]{a, b});
+
+        for (int i = 0; i < 10; i++)
+            a.takeDamage();
+        assertTrue(a.isDead());
+        assertEquals(2, a.getLife());
+        assertEquals(b.getID(), game.getOccupancy().get(6, 6));
+        assertEquals(Occupancy.EMPTY, game.getOccupancy().get(3, 3));
+    }
+
+    @Test
+    public void testConveyorOrderDoesNotMatter() {
+        Player a = player(0, 11, 10);
+        Player b = player(1, 10, 11);
+        GameState game = new GameState(board, new Player[]{a, b});
+        EventUtil.handleEvent(game);
+
+        Player c = player(0, 11, 10);
+        Player d = player(1, 10, 11);
+        GameState reversed = new GameState(board, new Player[]{d, c});
+        EventUtil.handleEvent(reversed);
+
+        assertEquals(a.getPos(), c.getPos());
+        assertEquals(b.getPos(), d.getPos());
+    }
+
+    @Test
+    public void testRobotsCarriedToSameCellStay() {
+        Player a = player(0, 5, 1);  // Normal conveyors onto (5, 2) from both sides
+        Player b = player(1, 5, 3);
+        GameState game = new GameState(board, new Player[]{a, b});
+        EventUtil.handleEvent(game);
+
+        assertEquals(new Position(5, 1), a.getPos());
+        assertEquals(new Position(5, 3), b.getPos());
+        for (int count : game.getConveyorArrivals())
+            assertEquals(0, count);
+    }
+
+    @Test
+    public void testRobotLaserHitsFirstRobot() {
+        Player a = player(0, 0, 2);
+        Player b = player(1, 2, 2);
+        Player c = player(2, 3, 2);
+        a.setDir(Direction.EAST);
+        GameState game = new GameState(board, new Player[]{a, b, c});
+
+        EventUtil.handleEvent(game);
+        assertEquals(1, b.getDamage());
+        assertEquals(0, c.getDamage());
+    }
+
+    @Test
+    public void testBoardLaserBlockedByRobot() {
+        // Laser from (21, 0) firing north
+        Player a = player(0, 21, 5);
+        Player b = player(1, 21, 7);
+        a.setDir(Direction.EAST);
+        b.setDir(Direction.EAST);
+        GameState game = new GameState(board, new Player[]{a, b});
+
+        EventUtil.handleEvent(game);
+        assertEquals(1, a.getDamage());
+        assertEquals(0, b.getDamage());
+    }
+
+    @Test
+    public void testLastFlagWins() {
+        Player a = player(0, 0, 1);
+        GameState game = new GameState(board, new Player[]{a});
+        final Player[] reported = new Player[1];
+        game.setListener(new GameListener() {
+            @Override
+            public void robotWon(Player player) {
+                reported[0] = player;
+            }
+
+            @Override
+            public void robotDestroyed(Player player) {
+                fail();
+            }
+        });
+
+        a.addFlag(1);
+        assertFalse(game.isOver());
+        a.addFlag(4);
+        assertTrue(game.isOver());
+        assertSame(a, game.getWinner());
+        assertSame(a, reported[0]);
+    }
+
+    @Test
+    public void testCopyIsEqualButIndependent() {
+        Player a = player(0, 0, 1);
+        Player b = player(1, 1, 1);
+        GameState game = new GameState(board, new Player[]{a, b});
+        GameState copy = new GameState(game);
+        assertEquals(game, copy);
+        assertEquals(game.hashCode(), copy.hashCode());
+
+        Player copyOfA = copy.getPlayer(0);
+        assertNotSame(a, copyOfA);
+        copyOfA.move(copy, Direction.EAST, 1);
+
+        assertEquals(new Position(1, 1), copyOfA.getPos());
+        assertEquals(new Position(2, 1), copy.getPlayer(1).getPos());
+        assertEquals(new Position(0, 1), a.getPos());
+        assertEquals(new Position(1, 1), b.getPos());
+        assertEquals(1, game.getOccupancy().get(1, 1));
+        assertEquals(0, copy.getOccupancy().get(1, 1));
+        assertNotEquals(game, copy);
+    }
+
+    @Test
+    public void testRestoreSnapshot() {
+        // Laser from (21, 0) firing north
+        Player a = player(0, 21, 5);
+        GameState game = new GameState(board, new Player[]{a});
+        int[] snapshot = game.snapshot();
+
+        a.move(game, Direction.EAST, 1);
+        a.addFlag(1);
+        a.takeDamage();
+        game.restore(snapshot);
+
+        assertEquals(new Position(21, 5), a.getPos());
+        assertFalse(a.hasFlag(1));
+        assertEquals(0, a.getDamage());
+        assertEquals(Occupancy.EMPTY, game.getOccupancy().get(22, 5));
+        assertEquals(0, game.getOccupancy().get(21, 5));
+
+        // The laser sees the robot where it was restored to
+        EventUtil.handleEvent(game);
+        assertEquals(1, a.getDamage());
+    }
+
+    @Test
+    public void testHashFollowsState() {
+        Player a = player(0, 0, 1);
+        Player b = player(1, 3, 1);
+        GameState game = new GameState(board, new Player[]{a, b});
+        long start = game.getHash();
+
+        a.rotate(false);
+        a.rotate(true);
+        assertEquals(start, game.getHash());
+
+        a.move(game, Direction.NORTH, 1);
+        assertNotEquals(start, game.getHash());
+        a.move(game, Direction.SOUTH, 1);
+        assertEquals(start, game.getHash());
+
+        b.takeDamage();
+        assertNotEquals(start, game.getHash());
+        b.heal();
+        assertEquals(start, game.getHash());
+    }
+
+    @Test
+    public void testSameStateByDifferentOrderHasSameHash() {
+        Player a = player(0, 0, 1);
+        GameState first = new GameState(board, new Player[]{a});
+        GameState second = new GameState(first);
+        Player copyOfA = second.getPlayer(0);
+
+        a.move(first, Direction.NORTH, 1);
+        a.rotate(true);
+        copyOfA.rotate(true);
+        copyOfA.move(second, Direction.NORTH, 1);
+        copyOfA.setDir(Direction.EAST);
+
+        assertEquals(first, second);
+        assertEquals(first.getHash(), second.getHash());
+    }
+
+    @Test
+    public void testRobotStateMovesIntoGame() {
+        Player a = player(0, 0, 1);
+        a.setDir(Direction.WEST);
+        a.addFlag(1);
+        new GameState(board, new Player[]{a});
+
+        assertEquals(Direction.WEST, a.getDir());
+        assertTrue(a.hasFlag(1));
+        assertEquals(new Position(0, 1), a.getPos());
+    }
+
+    /**
+     * Plays the same fixed game on several threads at once, sharing only the board.
+     */
+    @Test
+    public void testGamesRunInParallel() throws Exception {
+        String expected = playFixedGame();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++)
+                results.add(pool.submit(GameStateTest::playFixedGame));
+
+            for (Future<String> result : results)
+                assertEquals(expected, result.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String playFixedGame() {
+        Player a = player(0, 6, 1);
+        Player b = player(1, 9, 1);
+        GameState game = new GameState(board, new Player[]{a, b});
+        CardType[] program = {CardType.MOVE2, CardType.TURN_RIGHT, CardType.MOVE3, CardType.TURN_LEFT, CardType.MOVE1};
+
+        for (CardType type : program) {
+            a.executeCard(game, new ProgramCard(type, 10));
+            b.executeCard(game, new ProgramCard(type, 20));
+            EventUtil.handleEvent(game);
+        }
+        return a.getPos() + " " + b.getPos();
+    }
+}
@@ -0,0 +1,54 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.game.Occupancy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class OccupancyTest {
+
+    private Occupancy occupancy;
+
+    @Before
+    public void initialize() {
+        occupancy = new Occupancy(24, 12);
+    }
+
+    @Test
+    public void testStartsEmpty() {
+        assertEquals(Occupancy.EMPTY, occupancy.get(0, 0));
+        assertEquals(Occupancy.EMPTY, occupancy.get(23, 11));
+    }
+
+    @Test
+    public void testPlaceAndRemove() {
+        occupancy.place(2, 5, 5);
+        assertEquals(2, occupancy.get(5, 5));
+
+        occupancy.remove(2, 5, 5);
+        assertEquals(Occupancy.EMPTY, occupancy.get(5, 5));
+    }
+
+    @Test
+    public void testRemoveOnlyOwnCell() {
+        occupancy.place(1, 3, 3);
+        occupancy.remove(2, 3, 3);
+        assertEquals(1, occupancy.get(3, 3));
+    }
+
+    @Test
+    public void testOutsideBoardIsEmpty() {
+        occupancy.place(1, -1, 0);
+        occupancy.place(1, 24, 0);
+        assertEquals(Occupancy.EMPTY, occupancy.get(-1, 0));
+        assertEquals(Occupancy.EMPTY, occupancy.get(24, 0));
+        assertEquals(Occupancy.EMPTY, occupancy.get(0, 12));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPlaceOnOccupiedCellIsRejected() {
+        occupancy.place(1, 4, 4);
+        occupancy.place(2, 4, 4);
+    }
+}
@@ -1,9 +1,9 @@
 package inf112.roborally.tests;
 
-import com.badlogic.gdx.math.Vector2;
 import inf112.roborally.entities.Color;
 import inf112.roborally.entities.Direction;
 import inf112.roborally.entities.Player;
+import inf112.roborally.util.Position;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -14,14 +14,14 @@ public class PlayerTest {
     /**
      * Used for cases where new player is not necessary -> saving lines of code
      */
-    private Vector2 playerPos;
-    private Vector2 alternativePos;
+    private Position playerPos;
+    private Position alternativePos;
     private Player player;
 
     @Before
     public void initialize() {
-        playerPos = new Vector2(0, 0);
-        alternativePos = new Vector2(10, 10);
+        playerPos = new Position(0, 0);
+        alternativePos = new Position(10, 10);
         player = new Player(playerPos, Color.GREEN, 0, true);
     }
 
@@ -0,0 +1,119 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.ai.ProgramSearch;
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.CardType;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+import inf112.roborally.events.EventUtil;
+import inf112.roborally.game.GameState;
+import inf112.roborally.util.Position;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ProgramSearchTest {
+
+    private static Board board;
+    private final ProgramSearch search = new ProgramSearch();
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    private static ProgramCard[] hand(CardType... types) {
+        ProgramCard[] hand = new ProgramCard[types.length];
+        for (int i = 0; i < types.length; i++)
+            hand[i] = new ProgramCard(types[i], (i + 1) * 10);
+
+        return hand;
+    }
+
+    /**
+     * Plays a program for a robot alone, the way the search does.
+     */
+    private static void play(GameState game, Player bot, ProgramCard[] program) {
+        for (ProgramCard card : program) {
+            if (!bot.isDead())
+                bot.executeCard(game, card);
+            EventUtil.handleEvent(game);
+        }
+    }
+
+    @Test
+    public void testProgramIsFiveDistinctCardsFromHand() {
+        Player bot = new Player(new Position(6, 1), Color.RED, 0, true);
+        GameState game = new GameState(board, new Player[]{bot});
+        ProgramCard[] hand = hand(CardType.MOVE1, CardType.MOVE1, CardType.MOVE2, CardType.MOVE3, CardType.BACKUP,
+                CardType.TURN_LEFT, CardType.TURN_LEFT, CardType.TURN_RIGHT, CardType.TURN_U);
+
+        ProgramCard[] program = search.chooseProgram(game, bot, hand);
+        assertEquals(Player.MAX_SELECTED_CARDS, program.length);
+
+        Set<ProgramCard> distinct = new HashSet<>(Arrays.asList(program));
+        assertEquals(Player.MAX_SELECTED_CARDS, distinct.size());
+        assertTrue(Arrays.asList(hand).containsAll(distinct));
+    }
+
+    @Test
+    public void testSearchDoesNotChangeGame() {
+        Player bot = new Player(new Position(6, 1), Color.RED, 0, true);
+        Player other = new Player(new Position(9, 1), Color.GREEN, 1, true);
+        GameState game = new GameState(board, new Player[]{bot, other});
+        GameState before = new GameState(game);
+
+        search.chooseProgram(game, bot, hand(CardType.MOVE3, CardType.MOVE2, CardType.MOVE1, CardType.MOVE1,
+                CardType.TURN_RIGHT, CardType.TURN_RIGHT, CardType.TURN_LEFT, CardType.BACKUP, CardType.TURN_U));
+        assertEquals(before, game);
+    }
+
+    @Test
+    public void testTakesFlagInReach() {
+        // Flag 1 is at (23, 5)
+        Player bot = new Player(new Position(23, 2), Color.RED, 0, true);
+        GameState game = new GameState(board, new Player[]{bot});
+        ProgramCard[] program = search.chooseProgram(game, bot, hand(CardType.TURN_LEFT, CardType.TURN_LEFT,
+                CardType.TURN_LEFT, CardType.TURN_RIGHT, CardType.TURN_RIGHT, CardType.BACKUP, CardType.MOVE1,
+                CardType.MOVE2, CardType.TURN_U));
+
+        play(game, bot, program);
+        assertTrue(bot.hasFlag(1));
+    }
+
+    @Test
+    public void testAvoidsHole() {
+        // Hole at (10, 1), right behind the robot
+        Player bot = new Player(new Position(10, 2), Color.RED, 0, true);
+        bot.setDir(Direction.SOUTH);
+        GameState game = new GameState(board, new Player[]{bot});
+        ProgramCard[] program = search.chooseProgram(game, bot, hand(CardType.MOVE1, CardType.MOVE1, CardType.MOVE1,
+                CardType.MOVE1, CardType.MOVE1, CardType.TURN_U, CardType.TURN_LEFT, CardType.MOVE1, CardType.MOVE1));
+
+        play(game, bot, program);
+        assertEquals(3, bot.getLife());
+    }
+
+    @Test
+    public void testSameHandGivesSameProgram() {
+        ProgramCard[] hand = hand(CardType.MOVE1, CardType.MOVE2, CardType.MOVE3, CardType.BACKUP, CardType.TURN_LEFT,
+                CardType.TURN_RIGHT, CardType.TURN_U, CardType.MOVE1, CardType.TURN_LEFT);
+
+        ProgramCard[] first = searchFromStart(hand);
+        for (int i = 0; i < 5; i++)
+            assertArrayEquals(first, searchFromStart(hand));
+    }
+
+    private ProgramCard[] searchFromStart(ProgramCard[] hand) {
+        Player bot = new Player(new Position(13, 1), Color.RED, 0, true);
+        Player other = new Player(new Position(16, 1), Color.GREEN, 1, true);
+        return search.chooseProgram(new GameState(board, new Player[]{bot, other}), bot, hand);
+    }
+}
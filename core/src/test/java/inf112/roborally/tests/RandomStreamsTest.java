@@ -0,0 +1,45 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.util.RandomStreams;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class RandomStreamsTest {
+
+    @Test
+    public void testSameSeedGivesSameStreams() {
+        RandomStreams first = new RandomStreams(123, 4);
+        RandomStreams second = new RandomStreams(123, 4);
+
+        assertEquals(first.deck().nextLong(), second.deck().nextLong());
+        assertEquals(first.powerDown().nextLong(), second.powerDown().nextLong());
+        for (int bot = 0; bot < 4; bot++)
+            assertEquals(first.bot(bot).nextLong(), second.bot(bot).nextLong());
+    }
+
+    @Test
+    public void testStreamsAreIndependent() {
+        RandomStreams random = new RandomStreams(123, 2);
+        assertNotEquals(random.deck().nextLong(), random.powerDown().nextLong());
+        assertNotEquals(random.bot(0).nextLong(), random.bot(1).nextLong());
+    }
+
+    @Test
+    public void testUsingOneStreamDoesNotShiftAnother() {
+        RandomStreams used = new RandomStreams(5, 2);
+        RandomStreams unused = new RandomStreams(5, 2);
+        for (int i = 0; i < 100; i++)
+            used.bot(0).nextInt();
+
+        assertEquals(unused.deck().nextLong(), used.deck().nextLong());
+        assertEquals(unused.bot(1).nextLong(), used.bot(1).nextLong());
+    }
+
+    @Test
+    public void testGameSeedsDiffer() {
+        assertNotEquals(RandomStreams.gameSeed(1, 0), RandomStreams.gameSeed(1, 1));
+        assertEquals(RandomStreams.gameSeed(1, 7), RandomStreams.gameSeed(1, 7));
+    }
+}
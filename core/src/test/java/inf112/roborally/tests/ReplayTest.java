@@ -0,0 +1,175 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.ai.BotStrategy;
+import inf112.roborally.ai.RandomStrategy;
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.Deck;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Schedule;
+import inf112.roborally.replay.Replay;
+import inf112.roborally.replay.ReplayPlayer;
+import inf112.roborally.replay.ReplayWriter;
+import inf112.roborally.tournament.GameResult;
+import inf112.roborally.tournament.HeadlessGame;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class ReplayTest {
+
+    private static Board board;
+
+    private Replay replay;
+
+    /**
+     * The state of the recorded game before each register, and at the end.
+     */
+    private List<int[]> states;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    /**
+     * Records a game of random bots, respawning dead robots after each round.
+     */
+    @Before
+    public void record() throws IOException {
+        Player[] players = new Player[3];
+        for (int i = 0; i < players.length; i++)
+            players[i] = new Player(board.getStartPosition(i), Color.values()[i], i, true);
+        GameState game = new GameState(board, players);
+        Deck deck = new Deck(new SplittableRandom(5));
+        RandomStrategy bot = new RandomStrategy(new SplittableRandom(6));
+        Schedule schedule = new Schedule();
+        states = new ArrayList<>();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReplayWriter writer = new ReplayWriter(out, 42, board.getMapFile(), players, 4)) {
+            for (int round = 0; round < 12 && !game.isOver(); round++) {
+                ProgramCard[][] hands = new ProgramCard[players.length][];
+                for (Player player : players) {
+                    hands[player.getID()] = deck.take(9);
+                    player.setSelectedCards(bot.chooseProgram(game, player, hands[player.getID()]));
+                }
+
+                schedule.plan(game);
+                for (int register = 0; register < Player.MAX_SELECTED_CARDS && !game.isOver(); register++) {
+                    states.add(game.snapshot());
+                    writer.playRegister(game, schedule, register);
+                }
+
+                for (Player player : players) {
+                    if (player.isDead())
+                        player.respawn();
+                    deck.recycleAll(hands[player.getID()]);
+                }
+            }
+            assertEquals(states.size(), writer.getRegisters());
+        }
+        replay = new Replay(out.toByteArray());
+    }
+
+    @Test
+    public void testHeader() {
+        assertEquals(42, replay.getSeed());
+        assertEquals("Map.tmx", replay.getBoardId());
+        assertEquals(4, replay.getSnapshotInterval());
+        assertEquals(3, replay.getRobots());
+        assertEquals(Color.values()[2], replay.getColor(2));
+        assertTrue(replay.isBot(0));
+        assertEquals(states.size(), replay.getRegisters());
+    }
+
+    @Test
+    public void testPlayingForwardMatchesRecordedGame() {
+        ReplayPlayer player = new ReplayPlayer(replay, board);
+        for (int register = 0; register < states.size(); register++) {
+            assertArrayEquals("Before register " + register, states.get(register), player.getGame().snapshot());
+            assertTrue(player.step());
+        }
+        assertFalse(player.step());
+        assertEquals(states.size(), player.getRegister());
+    }
+
+    @Test
+    public void testSeekMatchesPlayingForward() {
+        ReplayPlayer player = new ReplayPlayer(replay, board);
+        int[] order = {17, 3, 40, 0, 22, 21, states.size() - 1, 9};
+        for (int register : order) {
+            player.seek(register);
+            assertEquals(register, player.getRegister());
+            assertArrayEquals("At register " + register, states.get(register), player.getGame().snapshot());
+        }
+    }
+
+    @Test
+    public void testSeekToEnd() {
+        ReplayPlayer player = new ReplayPlayer(replay, board);
+        player.playToEnd();
+        assertEquals(replay.getRegisters(), player.getRegister());
+
+        player.seek(0);
+        assertArrayEquals(states.get(0), player.getGame().snapshot());
+    }
+
+    @Test
+    public void testCompact() {
+        // Each register is a few bytes per card; snapshots every 4 registers dominate
+        assertTrue(replay.size() < states.size() * 40);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedReplayIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Player[] players = {new Player(board.getStartPosition(0), Color.RED, 0, true)};
+        new ReplayWriter(out, 1, board.getMapFile(), players, 4).close();
+        byte[] data = out.toByteArray();
+        new Replay(Arrays.copyOf(data, data.length - 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherBoardIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Player[] players = {new Player(board.getStartPosition(0), Color.RED, 0, true)};
+        new ReplayWriter(out, 1, "Other.tmx", players, 4).close();
+        new ReplayPlayer(new Replay(out.toByteArray()), board);
+    }
+
+    @Test
+    public void testRecordingDoesNotChangeHeadlessGame() {
+        GameResult plain = headless().play(0, 9);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameResult recorded = headless().play(0, 9, out);
+
+        assertEquals(plain.getWinner(), recorded.getWinner());
+        assertEquals(plain.getRounds(), recorded.getRounds());
+        assertArrayEquals(plain.getDeaths(), recorded.getDeaths());
+        assertArrayEquals(plain.getFlags(), recorded.getFlags());
+
+        Replay headlessReplay = new Replay(out.toByteArray());
+        assertEquals(9, headlessReplay.getSeed());
+        ReplayPlayer player = new ReplayPlayer(headlessReplay, board);
+        player.playToEnd();
+        Player winner = player.getGame().getWinner();
+        assertEquals(recorded.getWinner(), winner == null ? -1 : winner.getID());
+    }
+
+    private static HeadlessGame headless() {
+        BotStrategy[] bots = {new RandomStrategy(new SplittableRandom(1)), new RandomStrategy(new SplittableRandom(2))};
+        return new HeadlessGame(board, new String[]{"random", "random"}, bots, new SplittableRandom(3), 15);
+    }
+}
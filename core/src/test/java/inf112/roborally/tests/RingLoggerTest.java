@@ -0,0 +1,117 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.LogEvent;
+import inf112.roborally.logging.RingLogger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RingLoggerTest {
+
+    private StringWriter out;
+    private RingLogger logger;
+
+    @Before
+    public void initialize() {
+        out = new StringWriter();
+        logger = new RingLogger(64, Level.INFO, out);
+    }
+
+    @After
+    public void close() throws IOException {
+        logger.close();
+    }
+
+    private String[] lines() {
+        assertTrue(logger.flush(5000));
+        String written = out.toString();
+        return written.isEmpty() ? new String[0] : written.split("\n");
+    }
+
+    @Test
+    public void testRecordIsWrittenAsJson() {
+        logger.log(Level.INFO, LogEvent.CARD_EXECUTED, "MOVE2", 1, 420);
+
+        String[] lines = lines();
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].matches("\\{\"t\":\\d+,\"level\":\"INFO\",\"event\":\"CARD_EXECUTED\",\"robot\":1,\"priority\":420,\"text\":\"MOVE2\"}"));
+    }
+
+    @Test
+    public void testLevelsBelowAreSkipped() {
+        assertFalse(logger.isEnabled(Level.DEBUG));
+        assertTrue(logger.isEnabled(Level.WARN));
+        logger.log(Level.DEBUG, LogEvent.PHASE, 1);
+        logger.log(Level.WARN, LogEvent.PHASE, 2);
+
+        String[] lines = lines();
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"phase\":2"));
+
+        logger.setLevel(Level.OFF);
+        assertFalse(logger.isEnabled(Level.ERROR));
+    }
+
+    @Test
+    public void testRecordsKeepOrder() {
+        for (int i = 0; i < 1000; i++)
+            logger.log(Level.INFO, LogEvent.PHASE, i);
+
+        String[] lines = lines();
+        assertEquals(1000 - logger.getDropped(), lines.length);
+        long last = -1;
+        for (String line : lines) {
+            long phase = Long.parseLong(line.replaceAll(".*\"phase\":(\\d+).*", "$1"));
+            assertTrue(phase > last);
+            last = phase;
+        }
+    }
+
+    @Test
+    public void testTextIsEscaped() {
+        logger.log(Level.WARN, LogEvent.UNKNOWN_TILE, "a \"b\"\\");
+        assertTrue(lines()[0].endsWith("\"text\":\"a \\\"b\\\"\\\\\"}"));
+    }
+
+    @Test
+    public void testFullRingDropsRecords() throws IOException {
+        final CountDownLatch release = new CountDownLatch(1);
+        Writer blocked = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        RingLogger small = new RingLogger(4, Level.INFO, blocked);
+        for (int i = 0; i < 10; i++)
+            small.log(Level.INFO, LogEvent.PHASE, i);
+        assertEquals(6, small.getDropped());
+
+        release.countDown();
+        assertTrue(small.flush(5000));
+        small.close();
+    }
+}
@@ -0,0 +1,111 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.RobotEvent;
+import inf112.roborally.game.RobotListener;
+import inf112.roborally.util.Position;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RobotEventTest {
+
+    private static Board board;
+
+    private Player player;
+    private GameState game;
+    private List<RobotEvent> events;
+    private RobotListener listener;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    @Before
+    public void initialize() {
+        player = new Player(new Position(6, 1), Color.RED, 0, true);
+        game = new GameState(board, new Player[]{player});
+        events = new ArrayList<>();
+        listener = new RobotListener() {
+            @Override
+            public void robotChanged(Player changed, RobotEvent event) {
+                assertEquals(player, changed);
+                events.add(event);
+            }
+        };
+        game.addRobotListener(listener);
+    }
+
+    @Test
+    public void testMoveAndRotate() {
+        player.setDir(Direction.NORTH);
+        player.move(game, Direction.NORTH, 1);
+        player.rotate(true);
+        assertEquals(Arrays.asList(RobotEvent.MOVED, RobotEvent.ROTATED), events);
+    }
+
+    @Test
+    public void testUnchangedFieldIsNotPublished() {
+        player.setDir(player.getDir());
+        player.setPos(player.getPos());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testDamage() {
+        player.takeDamage();
+        assertEquals(Collections.singletonList(RobotEvent.DAMAGED), events);
+    }
+
+    @Test
+    public void testFlagsAndWin() {
+        player.addFlag(1);
+        player.addFlag(1);  // Already taken
+        player.addFlag(4);
+        assertEquals(Arrays.asList(RobotEvent.FLAG_TAKEN, RobotEvent.FLAG_TAKEN, RobotEvent.WON), events);
+    }
+
+    @Test
+    public void testDieAndRespawn() {
+        player.setDead(true);
+        player.setDead(false);
+        assertEquals(Arrays.asList(RobotEvent.DIED, RobotEvent.RESPAWNED), events);
+    }
+
+    @Test
+    public void testLastLifeDestroys() {
+        for (int life = player.getLife(); life > 0; life--)
+            player.subtractLife();
+        assertTrue(events.contains(RobotEvent.DESTROYED));
+    }
+
+    @Test
+    public void testRemovedListenerIsNotTold() {
+        game.removeRobotListener(listener);
+        assertFalse(game.hasRobotListeners());
+        player.takeDamage();
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testCopyHasNoListeners() {
+        GameState copy = new GameState(game);
+        assertFalse(copy.hasRobotListeners());
+        copy.getPlayer(0).takeDamage();
+        assertTrue(events.isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.CardType;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Round;
+import inf112.roborally.game.Schedule;
+import inf112.roborally.util.Position;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RoundTest {
+
+    private static Board board;
+
+    private final Schedule schedule = new Schedule();
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    /**
+     * Two robots facing each other with one cell between them, both moving into it.
+     */
+    private static GameState facingRobots(int priorityA, int priorityB) {
+        Player a = new Player(new Position(0, 1), Color.RED, 0, true);
+        Player b = new Player(new Position(2, 1), Color.GREEN, 1, true);
+        a.setDir(Direction.EAST);
+        b.setDir(Direction.WEST);
+        a.setSelectedCards(new ProgramCard[]{new ProgramCard(CardType.MOVE1, priorityA), null, null, null, null});
+        b.setSelectedCards(new ProgramCard[]{new ProgramCard(CardType.MOVE1, priorityB), null, null, null, null});
+        return new GameState(board, new Player[]{a, b});
+    }
+
+    @Test
+    public void testLowestPriorityPlaysFirst() {
+        GameState game = facingRobots(10, 20);
+        schedule.plan(game);
+        Round.playRegister(game, schedule, 0);
+
+        // a moves first, then b pushes it back
+        assertEquals(new Position(0, 1), game.getPlayer(0).getPos());
+        assertEquals(new Position(1, 1), game.getPlayer(1).getPos());
+    }
+
+    @Test
+    public void testOrderFollowsPriorityNotPlayers() {
+        GameState game = facingRobots(20, 10);
+        schedule.plan(game);
+        Round.playRegister(game, schedule, 0);
+
+        assertEquals(new Position(1, 1), game.getPlayer(0).getPos());
+        assertEquals(new Position(2, 1), game.getPlayer(1).getPos());
+    }
+
+    @Test
+    public void testEmptyRegisterIsSkipped() {
+        GameState game = facingRobots(10, 20);
+        schedule.plan(game);
+        Round.playRegister(game, schedule, 1);
+
+        assertEquals(new Position(0, 1), game.getPlayer(0).getPos());
+        assertEquals(new Position(2, 1), game.getPlayer(1).getPos());
+    }
+}
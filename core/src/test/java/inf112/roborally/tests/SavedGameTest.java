@@ -0,0 +1,183 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.Deck;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+import inf112.roborally.save.GameSaver;
+import inf112.roborally.save.SavedGame;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class SavedGameTest {
+
+    private static Board board;
+
+    private GameState game;
+    private Deck deck;
+    private Path file;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    @Before
+    public void initialize() throws IOException {
+        Player human = new Player(board.getStartPosition(0), Color.RED, 0, false);
+        Player bot = new Player(board.getStartPosition(1), Color.GREEN, 1, true);
+        game = new GameState(board, new Player[]{human, bot});
+        deck = new Deck(new SplittableRandom(3));
+
+        human.setVisibleCards(deck.take(9));
+        human.addCard(4);
+        human.addCard(0);
+        bot.setSelectedCards(deck.take(Player.MAX_SELECTED_CARDS));
+
+        human.move(game, Direction.NORTH, 1);
+        bot.takeDamage();
+        bot.setPowerDownNextRound(true);
+        human.addFlag(1);
+
+        file = Files.createTempFile("roborally", ".sav");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private SavedGame save() {
+        return new SavedGame(77, 4, SavedGame.Phase.EXECUTING, 2, game, deck);
+    }
+
+    private void assertRestored(SavedGame saved) {
+        assertEquals(77, saved.getSeed());
+        assertEquals(4, saved.getRound());
+        assertEquals(SavedGame.Phase.EXECUTING, saved.getPhase());
+        assertEquals(2, saved.getRegister());
+        assertEquals(2, saved.getRobots());
+
+        GameState restored = saved.restoreGame(board);
+        assertEquals(game, restored);
+        assertEquals(game.getHash(), restored.getHash());
+        assertNotNull(restored.getOccupancy());
+
+        Player human = restored.getPlayer(0);
+        Player bot = restored.getPlayer(1);
+        assertFalse(human.isBot());
+        assertTrue(bot.isBot());
+        assertEquals(Color.GREEN, bot.color);
+        assertArrayEquals(game.getPlayer(0).getVisibleCards(), human.getVisibleCards());
+        assertArrayEquals(game.getPlayer(0).getSelectedCards(), human.getSelectedCards());
+        assertArrayEquals(game.getPlayer(1).getSelectedCards(), bot.getSelectedCards());
+        assertSame(game.getPlayer(0).getSelectedCards()[0], human.getSelectedCards()[0]);
+        assertTrue(bot.getPowerDownNextRound());
+
+        assertArrayEquals(deck.getCardIds(), saved.restoreDeck(new SplittableRandom(1)).getCardIds());
+    }
+
+    @Test
+    public void testBufferRoundTrip() {
+        SavedGame saved = save();
+        ByteBuffer buffer = ByteBuffer.allocate(saved.size());
+        saved.write(buffer);
+        assertRestored(SavedGame.read(buffer));
+    }
+
+    @Test
+    public void testFixedSize() {
+        int size = save().size();
+        deck.pop();
+        game.getPlayer(0).removeCards();
+        assertEquals(size, new SavedGame(1, 1, SavedGame.Phase.PROGRAMMING, 0, game, deck).size());
+    }
+
+    @Test
+    public void testSaverWritesFile() throws IOException {
+        try (GameSaver saver = new GameSaver(file)) {
+            saver.save(new SavedGame(1, 1, SavedGame.Phase.PROGRAMMING, 0, game, deck));
+            saver.save(save());
+            assertTrue(saver.flush(5000));
+        }
+        assertRestored(SavedGame.load(file));
+    }
+
+    @Test
+    public void testSaverOverwritesLargerFile() throws IOException {
+        Files.write(file, new byte[10000]);
+        try (GameSaver saver = new GameSaver(file)) {
+            saver.save(save());
+        }
+        assertEquals(save().size(), Files.size(file));
+        assertRestored(SavedGame.load(file));
+    }
+
+    @Test
+    public void testSaveReplacesFileWithoutLeavingTempFile() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (GameSaver saver = new GameSaver(file)) {
+            saver.save(new SavedGame(1, 1, SavedGame.Phase.PROGRAMMING, 0, game, deck));
+            assertTrue(saver.flush(5000));
+            SavedGame.load(file);
+
+            // Left over from a save that was cut short
+            Files.write(temp, new byte[]{1, 2, 3});
+            saver.save(save());
+            assertTrue(saver.flush(5000));
+        }
+        assertFalse(Files.exists(temp));
+        assertRestored(SavedGame.load(file));
+    }
+
+    @Test
+    public void testDeleteRemovesFile() throws IOException {
+        try (GameSaver saver = new GameSaver(file)) {
+            saver.save(save());
+            saver.delete();
+            assertTrue(saver.flush(5000));
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCorruptFileIsRejected() {
+        SavedGame saved = save();
+        ByteBuffer buffer = ByteBuffer.allocate(saved.size());
+        saved.write(buffer);
+        buffer.put(100, (byte) (buffer.get(100) + 1));
+        SavedGame.read(buffer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedFileIsRejected() {
+        SavedGame saved = save();
+        ByteBuffer buffer = ByteBuffer.allocate(saved.size());
+        saved.write(buffer);
+        buffer.limit(saved.size() - 8);
+        SavedGame.read(buffer);
+    }
+
+    @Test
+    public void testSavedDeckKeepsOrder() {
+        int[] ids = deck.getCardIds();
+        Deck restored = new Deck(new SplittableRandom(9), ids);
+        assertEquals(deck.size(), restored.size());
+        int i = 0;
+        for (ProgramCard card : restored)
+            assertEquals(ids[i++], card.getId());
+    }
+}
@@ -0,0 +1,147 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.cards.CardType;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Schedule;
+import inf112.roborally.util.Position;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ScheduleTest {
+
+    private static Board board;
+
+    private Player a, b, c;
+    private Player[] players;
+    private GameState game;
+    private Schedule schedule;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    @Before
+    public void initialize() {
+        a = new Player(new Position(6, 1), Color.RED, 0, true);
+        b = new Player(new Position(9, 1), Color.GREEN, 1, true);
+        c = new Player(new Position(13, 1), Color.BLUE, 2, true);
+        a.setSelectedCards(program(50, 300, 10, 700, 840));
+        b.setSelectedCards(program(20, 310, 400, 690, 120));
+        c.setSelectedCards(program(30, 100, 410, 680, 830));
+        players = new Player[]{a, b, c};
+        game = new GameState(board, players);
+        schedule = new Schedule();
+    }
+
+    private static ProgramCard[] program(int... priorities) {
+        ProgramCard[] program = new ProgramCard[priorities.length];
+        for (int i = 0; i < priorities.length; i++)
+            program[i] = ProgramCard.fromId(priorities[i] / 10 - 1);
+        return program;
+    }
+
+    @Test
+    public void testOrderedByRegisterThenPriority() {
+        schedule.plan(game);
+        assertEquals(15, schedule.size());
+
+        int[][] expected = {{1, 2, 0}, {2, 0, 1}, {0, 1, 2}, {2, 1, 0}, {1, 2, 0}};
+        for (int register = 0; register < Player.MAX_SELECTED_CARDS; register++) {
+            assertEquals(register * 3, schedule.registerStart(register));
+            assertEquals(register * 3 + 3, schedule.registerEnd(register));
+            for (int i = 0; i < 3; i++) {
+                int step = register * 3 + i;
+                assertEquals(expected[register][i], schedule.getRobot(step));
+                assertEquals(register, schedule.getRegister(step));
+
+                Player player = game.getPlayer(schedule.getRobot(step));
+                assertSame(player.getSelectedCards()[register], schedule.getCard(game, step));
+                assertEquals(player.getSelectedCards()[register].getId(), schedule.getCardId(step));
+            }
+        }
+    }
+
+    @Test
+    public void testPlayersAreNotReordered() {
+        schedule.plan(game);
+        assertSame(a, players[0]);
+        assertSame(b, players[1]);
+        assertSame(c, players[2]);
+    }
+
+    @Test
+    public void testDeadRobotsAndEmptyRegistersHaveNoSteps() {
+        b.setDead(true);
+        c.getSelectedCards()[2] = null;
+        schedule.plan(game);
+
+        assertEquals(9, schedule.size());
+        assertEquals(schedule.registerStart(2) + 1, schedule.registerEnd(2));
+        for (int step = 0; step < schedule.size(); step++)
+            assertTrue(schedule.getRobot(step) != 1);
+    }
+
+    @Test
+    public void testRobotDyingMidRoundIsSkipped() {
+        schedule.plan(game);
+        b.setDead(true);
+
+        int step = schedule.registerStart(0);  // b has the lowest priority in register 0
+        assertEquals(1, schedule.getRobot(step));
+        assertFalse(schedule.play(game, step));
+        assertTrue(schedule.play(game, step + 1));
+    }
+
+    @Test
+    public void testReplanningReusesSchedule() {
+        schedule.plan(game);
+        a.setSelectedCards(program(20, 310, 10, 700, 840));
+        b.setSelectedCards(program(50, 300, 400, 690, 120));
+        schedule.plan(game);
+
+        assertEquals(15, schedule.size());
+        assertEquals(0, schedule.getRobot(0));
+        assertEquals(1, schedule.getRobot(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSamePriorityTwiceFails() {
+        b.getSelectedCards()[0] = a.getSelectedCards()[0];
+        schedule.plan(game);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPriorityOutsideDeckFails() {
+        a.getSelectedCards()[0] = new ProgramCard(CardType.MOVE1, 5);
+        schedule.plan(game);
+    }
+
+    @Test
+    public void testFailedPlanLeavesScheduleReusable() {
+        // a and b fill their buckets before c's card fails
+        ProgramCard valid = c.getSelectedCards()[4];
+        c.getSelectedCards()[4] = new ProgramCard(CardType.MOVE1, 845);
+        try {
+            schedule.plan(game);
+            fail("Priority outside the deck was planned");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+
+        c.getSelectedCards()[4] = valid;
+        schedule.plan(game);
+        assertEquals(15, schedule.size());
+    }
+}
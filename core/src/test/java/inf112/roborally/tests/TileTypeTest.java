@@ -0,0 +1,30 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.TileType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TileTypeTest {
+
+    @Test
+    public void testFromNameMatchesMapNames() {
+        for (TileType type : TileType.values())
+            assertEquals(type, TileType.fromName(type.getName()));
+    }
+
+    @Test
+    public void testUnknownNameIsNone() {
+        assertEquals(TileType.NONE, TileType.fromName("Not_A_Tile"));
+        assertEquals(TileType.NONE, TileType.fromName(null));
+    }
+
+    @Test
+    public void testIsFlag() {
+        assertTrue(TileType.FLAG1.isFlag());
+        assertTrue(TileType.FLAG4.isFlag());
+        assertFalse(TileType.HOLE.isFlag());
+    }
+}
@@ -0,0 +1,75 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.board.Board;
+import inf112.roborally.tournament.GameResult;
+import inf112.roborally.tournament.ResultWriter;
+import inf112.roborally.tournament.Tournament;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+
+    private static Board board;
+
+    @BeforeClass
+    public static void loadBoard() {
+        board = new Board();
+    }
+
+    @Test
+    public void testSameSeedPlaysSameGame() {
+        GameResult first = new Tournament(board, new String[]{"random", "random", "random"}, 20, 7).playGame(3);
+        GameResult second = new Tournament(board, new String[]{"random", "random", "random"}, 20, 7).playGame(3);
+
+        assertEquals(first.getSeed(), second.getSeed());
+        assertEquals(first.getWinner(), second.getWinner());
+        assertEquals(first.getRounds(), second.getRounds());
+        assertArrayEquals(first.getDeaths(), second.getDeaths());
+        assertArrayEquals(first.getFlags(), second.getFlags());
+    }
+
+    @Test
+    public void testRoundCap() {
+        GameResult result = new Tournament(board, new String[]{"random", "random"}, 2, 1).playGame(0);
+        assertTrue(result.getRounds() <= 2);
+    }
+
+    @Test
+    public void testSearchBotBeatsRandomBot() {
+        GameResult result = new Tournament(board, new String[]{"search", "random"}, 50, 1).playGame(0);
+        assertEquals(0, result.getWinner());
+        assertEquals(4, result.getFlags()[0]);
+    }
+
+    @Test
+    public void testOneLinePerGame() throws Exception {
+        StringWriter jsonl = new StringWriter();
+        try (ResultWriter out = new ResultWriter(jsonl, ResultWriter.Format.JSONL)) {
+            new Tournament(board, new String[]{"random", "random"}, 5, 1).run(8, 4, out);
+        }
+        String[] lines = jsonl.toString().split("\n");
+        assertEquals(8, lines.length);
+        for (String line : lines)
+            assertTrue(line.startsWith("{\"game\":") && line.endsWith("}"));
+    }
+
+    @Test
+    public void testCsvHasHeader() throws Exception {
+        StringWriter csv = new StringWriter();
+        try (ResultWriter out = new ResultWriter(csv, ResultWriter.Format.CSV)) {
+            new Tournament(board, new String[]{"random", "random"}, 5, 1).run(3, 1, out);
+        }
+        String[] lines = csv.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("game,seed,winner,rounds,bot0,deaths0,flags0,bot1,deaths1,flags1", lines[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStrategy() {
+        new Tournament(board, new String[]{"cheater"}, 5, 1);
+    }
+}
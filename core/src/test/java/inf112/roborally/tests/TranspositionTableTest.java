@@ -0,0 +1,42 @@
+package inf112.roborally.tests;
+
+import inf112.roborally.ai.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void testPutAndGet() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.put(0x1234_5678_9ABC_DEF0L, 42);
+        assertEquals(42, table.get(0x1234_5678_9ABC_DEF0L));
+    }
+
+    @Test
+    public void testMissingKey() {
+        TranspositionTable table = new TranspositionTable(4);
+        assertEquals(TranspositionTable.MISS, table.get(0x1234_5678_9ABC_DEF0L));
+    }
+
+    @Test
+    public void testKeysInSameSlotReplaceEachOther() {
+        TranspositionTable table = new TranspositionTable(4);
+        long first = 0x1000_0000_0000_0003L;
+        long second = 0x2000_0000_0000_0003L;
+        table.put(first, 1);
+        table.put(second, 2);
+
+        assertEquals(TranspositionTable.MISS, table.get(first));
+        assertEquals(2, table.get(second));
+    }
+
+    @Test
+    public void testClear() {
+        TranspositionTable table = new TranspositionTable(4);
+        table.put(7, -5);
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.get(7));
+    }
+}
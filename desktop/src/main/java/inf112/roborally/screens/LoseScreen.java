@@ -11,21 +11,24 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import inf112.roborally.Main;
+import inf112.roborally.ui.Assets;
 
 public class LoseScreen implements Screen {
 
     private final Stage stage;
+    private final Skin menuSkin;
+    private final Texture robotTexture;
 
     public LoseScreen() {
         stage = new Stage(new StretchViewport(Main.WIDTH, Main.HEIGHT));
+        menuSkin = Assets.acquireSkin();
+        robotTexture = Assets.acquire(Assets.ROBOT, Texture.class);
     }
 
     @Override
     public void show() {
         Table menuComponents = new Table();
-        Skin menuSkin = new Skin(Gdx.files.internal("rusty-robot/skin/rusty-robot-ui.json"));
-
-        Image robot = new Image(new Texture(Gdx.files.internal("rusty-robot/raw/robot.png")));
+        Image robot = new Image(robotTexture);
         robot.setPosition(1000, 0);
 
         TextField textField = new TextField("You Lost.. :(", menuSkin);
@@ -87,11 +90,14 @@ public class LoseScreen implements Screen {
 
     @Override
     public void hide() {
-        //Intentionally empty body
+        // Hidden while handling this screen's own input, so disposed once that is done
+        Gdx.app.postRunnable(this::dispose);
     }
 
     @Override
     public void dispose() {
-        //Intentionally empty body
+        stage.dispose();
+        Assets.release(Assets.SKIN);
+        Assets.release(Assets.ROBOT);
     }
 }
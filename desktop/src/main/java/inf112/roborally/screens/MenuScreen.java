@@ -11,21 +11,25 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import inf112.roborally.Main;
+import inf112.roborally.save.SavedGame;
+import inf112.roborally.ui.Assets;
 
 public class MenuScreen implements Screen {
 
     private final Stage stage;
+    private final Skin menuSkin;
+    private final Texture robotTexture;
 
     public MenuScreen() {
         stage = new Stage(new StretchViewport(Main.WIDTH, Main.HEIGHT));
+        menuSkin = Assets.acquireSkin();
+        robotTexture = Assets.acquire(Assets.ROBOT, Texture.class);
     }
 
     @Override
     public void show() {
         Table menuComponents = new Table();
-        Skin menuSkin = new Skin(Gdx.files.internal("rusty-robot/skin/rusty-robot-ui.json"));
-
-        Image robot = new Image(new Texture(Gdx.files.internal("rusty-robot/raw/robot.png")));
+        Image robot = new Image(robotTexture);
         robot.setPosition(1000, 0);
 
         TextField textField = new TextField("RoboRally", menuSkin);
@@ -34,6 +38,18 @@ public class MenuScreen implements Screen {
         TextButton start = new TextButton("Singleplayer", menuSkin);
         TextButton exit = new TextButton("Exit", menuSkin);
 
+        // Offering to go on with the last game, if it was not finished
+        SavedGame saved = RoboRally.loadSavedGame();
+        TextButton resume = saved == null ? null : new TextButton("Continue", menuSkin);
+        if (resume != null) {
+            resume.addListener(new ChangeListener() {
+                @Override
+                public void changed(ChangeEvent changeEvent, Actor actor) {
+                    new RoboRally(saved);
+                }
+            });
+        }
+
         start.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent changeEvent, Actor actor) {
@@ -50,6 +66,10 @@ public class MenuScreen implements Screen {
 
         menuComponents.add(textField).size(200, 75).expandX().padBottom(20);
         menuComponents.row();
+        if (resume != null) {
+            menuComponents.add(resume).size(300, 120).expandX();
+            menuComponents.row();
+        }
         menuComponents.add(start).size(300, 120).expandX();
         menuComponents.row();
         menuComponents.add(exit).size(300, 120).expandX();
@@ -87,11 +107,14 @@ public class MenuScreen implements Screen {
 
     @Override
     public void hide() {
-        //Intentionally empty body
+        // Hidden while handling this screen's own input, so disposed once that is done
+        Gdx.app.postRunnable(this::dispose);
     }
 
     @Override
     public void dispose() {
-        //Intentionally empty body
+        stage.dispose();
+        Assets.release(Assets.SKIN);
+        Assets.release(Assets.ROBOT);
     }
 }
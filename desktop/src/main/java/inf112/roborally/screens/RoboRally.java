@@ -0,0 +1,841 @@
+package inf112.roborally.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.*;
+import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
+import com.badlogic.gdx.utils.viewport.StretchViewport;
+import inf112.roborally.Main;
+import inf112.roborally.ai.ProgramSearch;
+import inf112.roborally.cards.Deck;
+import inf112.roborally.cards.ProgramCard;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Player;
+import inf112.roborally.events.EventUtil;
+import inf112.roborally.game.GameListener;
+import inf112.roborally.game.GameState;
+import inf112.roborally.game.Schedule;
+import inf112.roborally.logging.Level;
+import inf112.roborally.logging.Log;
+import inf112.roborally.logging.LogEvent;
+import inf112.roborally.profiling.FrameProfiler;
+import inf112.roborally.board.Board;
+import inf112.roborally.save.GameSaver;
+import inf112.roborally.save.SavedGame;
+import inf112.roborally.ui.Assets;
+import inf112.roborally.ui.CardTextures;
+import inf112.roborally.ui.ProfilerOverlay;
+import inf112.roborally.ui.RobotLayer;
+import inf112.roborally.ui.StatusHud;
+import inf112.roborally.util.RandomStreams;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Handles logic of game & controlling players.
+ */
+public class RoboRally implements Screen {
+
+    /**
+     * Constants
+     */
+    private final static int MAX_VISIBLE_CARDS = 9;
+    public final static int MAX_SELECTED_CARDS = Player.MAX_SELECTED_CARDS;
+
+    /**
+     * Where the game is saved after each phase & register, set by the system property roborally.save.
+     */
+    public final static Path SAVE_FILE = Paths.get(System.getProperty("roborally.save", "roborally.sav"));
+
+    /**
+     * Rendering
+     */
+    private SpriteBatch batch;
+    private BitmapFont font;
+    private TiledMap map;
+    private RobotLayer robotLayer;
+    private StatusHud hud;
+
+    /**
+     * Frame & phase timing, shown with F3.
+     * Set the system property roborally.metrics to a file to append the timings as JSON lines.
+     */
+    private static final int CLEAR = 0, ROBOTS = 1, MAP = 2, STAGE_ACT = 3, STAGE_DRAW = 4, STATUS = 5;
+    private final FrameProfiler profiler =
+            new FrameProfiler(new String[]{"clear", "robots", "map", "stage act", "stage draw", "status"}, 240);
+    private ProfilerOverlay profilerOverlay;
+    private TiledMapRenderer mapRenderer;
+    private OrthographicCamera camera;
+    private Stage stage;
+    private Skin skin;
+
+    /**
+     * Board to be played on.
+     */
+    private Board board;
+
+    /**
+     * The robots on the board, and where they stand.
+     */
+    private GameState game;
+
+    /**
+     * Deck to choose cards from.
+     */
+    private Deck deck;
+
+    /**
+     * Chooses the programs of the bots.
+     */
+    private ProgramSearch programSearch;
+
+    /**
+     * All players in the game.
+     */
+    private Player[] players;
+
+    /**
+     * Holds the references to the ImageButtons, representing the cards on the screen.
+     */
+    private ImageButton[] cardButtons;
+
+    /**
+     * The priority shown on each card button, reused between rounds.
+     */
+    private Label[] priorityLabels;
+
+    /**
+     * Order of (Player, Card) to be executed, and the next step to execute
+     */
+    private Schedule schedule;
+    private int nextStep;
+
+    /**
+     * Buttons
+     */
+    private TextButton finishedBtn;
+    private TextButton undoBtn;
+    private TextButton executeBtn;
+
+    /**
+     * Random streams of this game, all from one seed.
+     */
+    private final RandomStreams random;
+
+    /**
+     * Root seed of the game, and num. of rounds dealt.
+     */
+    private final long seed;
+    private int round;
+
+    /**
+     * Saves the game in the background. Once the game is over the save is deleted.
+     */
+    private final GameSaver saver = new GameSaver(SAVE_FILE);
+    private boolean over;
+
+    public RoboRally(int numPlayers) {
+        this(numPlayers, System.nanoTime());
+    }
+
+    /**
+     * @param numPlayers Num. of robots, the human and the bots
+     * @param seed       Root seed of the game. The same seed deals the same cards.
+     */
+    public RoboRally(int numPlayers, long seed) {
+        Gdx.graphics.setContinuousRendering(false);
+        Log.get().log(Level.INFO, LogEvent.GAME_STARTED, seed);
+        this.seed = seed;
+        random = new RandomStreams(seed, numPlayers);
+
+        setupGameComponents();
+        setupPlayers(numPlayers);
+        game = new GameState(board, players);
+        setupScreen();
+
+        dealCardsToAll();  // First phase
+    }
+
+    /**
+     * Resumes a saved game, in the phase it was saved in.
+     * The cards dealt from here on are drawn from streams of the seed & the round it was saved in.
+     *
+     * @param saved The game, see loadSavedGame()
+     */
+    public RoboRally(SavedGame saved) {
+        Gdx.graphics.setContinuousRendering(false);
+        Log.get().log(Level.INFO, LogEvent.GAME_RESUMED, saved.getSeed(), saved.getRound());
+        seed = saved.getSeed();
+        round = saved.getRound();
+        random = new RandomStreams(RandomStreams.gameSeed(seed, round), saved.getRobots());
+
+        setupGameComponents();
+        deck = saved.restoreDeck(random.deck());
+        game = saved.restoreGame(board);
+        players = game.getPlayers();
+        setupScreen();
+
+        resume(saved.getPhase(), saved.getRegister());
+    }
+
+    /**
+     * @return The game saved in SAVE_FILE, or null if there is none that can be resumed
+     */
+    public static SavedGame loadSavedGame() {
+        try {
+            return SavedGame.load(SAVE_FILE);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            Log.get().log(Level.WARN, LogEvent.IO_ERROR, "Could not load " + SAVE_FILE + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sets up listeners, rendering & UI for the game and its robots.
+     */
+    private void setupScreen() {
+        game.setListener(new GameListener() {
+            @Override
+            public void robotWon(Player player) {
+                endGame();
+                ScreenManager.getInstance().setScreen(new WinScreen());
+            }
+
+            @Override
+            public void robotDestroyed(Player player) {
+                endGame();
+                ScreenManager.getInstance().setScreen(new LoseScreen());
+            }
+        });
+        setupRendering();
+        setupMetricsExport();
+        game.addRobotListener(robotLayer);
+        game.addRobotListener(hud);
+        setupUI();
+        setupInput();
+    }
+
+    /**
+     * Continues a round from the phase it was saved in.
+     *
+     * @param phase    The phase
+     * @param register Next register to play, when executing
+     */
+    private void resume(SavedGame.Phase phase, int register) {
+        setupCardButtons();
+        ProgramCard[] visible = getHumanPlayer().getVisibleCards();
+        List<ProgramCard> selected = Arrays.asList(getHumanPlayer().getSelectedCards());
+        for (int i = 0; i < MAX_VISIBLE_CARDS; i++)
+            cardButtons[i].setChecked(selected.contains(visible[i]));
+        updateCardGraphics();
+
+        switch (phase) {
+            case PROGRAMMING:
+                break;
+
+            case POWER_DOWN:
+                selectCards();
+                break;
+
+            case EXECUTING:
+                finishedBtn.remove();
+                undoBtn.remove();
+                schedule.plan(game);
+                nextStep = schedule.registerStart(register);
+                setupExecuteBtn();
+                break;
+        }
+    }
+
+    /**
+     * Saves the game in the background, unless it is over.
+     *
+     * @param phase    Where the round is
+     * @param register Next register to play, when executing
+     */
+    private void autosave(SavedGame.Phase phase, int register) {
+        if (!over)
+            saver.save(new SavedGame(seed, round, phase, register, game, deck));
+    }
+
+    private void endGame() {
+        over = true;
+        saver.delete();
+    }
+
+    /**
+     * Phase 1 - deal cards to all players.
+     */
+    private void dealCardsToAll() {
+        Log.get().log(Level.INFO, LogEvent.PHASE, "Dealing out cards to all", 1);
+        profiler.phase("deal");
+
+        refillHumanCards();
+        giveBotsCards();
+        round++;
+
+
+        setupCardButtons();
+        updateCardGraphics();
+        autosave(SavedGame.Phase.PROGRAMMING, 0);
+    }
+
+    /**
+     * Gives new cards to human (not selecting).
+     */
+    private void refillHumanCards() {
+        // Deleting prev. cards.
+        getHumanPlayer().setSelectedCards(new ProgramCard[MAX_SELECTED_CARDS]);
+
+        ProgramCard[] visibleCards = deck.take(MAX_VISIBLE_CARDS);
+        getHumanPlayer().setVisibleCards(visibleCards);
+    }
+
+    /**
+     * Deals bots as many cards as the human, and lets each bot choose its program.
+     * The cards a bot does not use go straight back to the deck.
+     */
+    private void giveBotsCards() {
+        for (Player player : players) {
+            if (!player.isBot())
+                continue;
+
+            ProgramCard[] hand = deck.take(ProgramSearch.HAND_SIZE);
+            ProgramCard[] program = programSearch.chooseProgram(game, player, hand);
+            player.setSelectedCards(program);
+
+            List<ProgramCard> chosen = Arrays.asList(program);
+            for (ProgramCard card : hand)
+                if (!chosen.contains(card))
+                    deck.recycle(card);
+        }
+    }
+
+    /**
+     * Phase 2 - called when player cards is selected.
+     */
+    private void selectCards() {
+        Log.get().log(Level.INFO, LogEvent.PHASE, "Cards selected", 2);
+        profiler.phase("select");
+        printHumanSelectedCards();
+
+        finishedBtn.remove();
+        undoBtn.remove();
+        autosave(SavedGame.Phase.POWER_DOWN, 0);
+        promptPowerDown();  // Next phase - Not functional atm.
+    }
+
+    /**
+     * Phase 3 - ask if each player want to power down.
+     * Starts to ask this player.
+     * All the other players choose on a pseudo-random basis.
+     */
+    private void promptPowerDown() {
+        // Other players deciding if power down - 5 % chance
+        for (Player player : players) {
+            if (!player.isBot()) continue;
+
+            if (random.powerDown().nextInt(21) == 0)
+                player.setPowerDownNextRound(true);
+            else
+                player.setPowerDownNextRound(false);
+        }
+
+        // Human dialog for power down
+        Dialog dialog = new Dialog("Power Down", skin) {
+            @Override
+            protected void result(Object object) {
+                try {
+                    String str = (String) object;
+                    if (str.equals("Power down")) {
+                        Log.get().log(Level.INFO, LogEvent.POWER_DOWN, getHumanPlayer().getID(), 1);
+                        getHumanPlayer().setPowerDownNextRound(true);
+                        executeRobotCards();  // Next phase
+                    } else if ("Don't power down".equals(str)) {
+                        Log.get().log(Level.INFO, LogEvent.POWER_DOWN, getHumanPlayer().getID(), 0);
+                        getHumanPlayer().setPowerDownNextRound(false);
+                        executeRobotCards();  // Next phase
+                    }
+                } catch (ClassCastException cce) {
+                    Log.get().log(Level.ERROR, LogEvent.UNKNOWN_DIALOG_RESULT, cce.getMessage());
+                }
+            }
+        };
+        dialog.text("Do you want to power down your robot next round?");
+
+        dialog.button("Yes", "Power down");
+        dialog.button("No", "Don't power down");
+        Log.get().log(Level.INFO, LogEvent.PHASE, "Prompting for power down", 3);
+        profiler.phase("power down");
+
+        dialog.show(stage);
+    }
+
+    /**
+     * Phase 4 - executes all player cards, in order, based on card power.
+     */
+    private void executeRobotCards() {
+        Log.get().log(Level.INFO, LogEvent.PHASE, "Ready to execute cards", 4);
+        profiler.phase("execute");
+
+        // Sorts based on which cards the players are holding (priority of the cards).
+        schedule.plan(game);
+        nextStep = 0;
+        autosave(SavedGame.Phase.EXECUTING, 0);
+        setupExecuteBtn();  // Phase 4
+    }
+
+    /**
+     * Phase 4 - clicking this button will execute next card.
+     */
+    private void setupExecuteBtn() {
+        executeBtn = new TextButton("Execute next card!", skin);
+        executeBtn.setSize(200, 80);
+        executeBtn.setPosition((float) Main.WIDTH - 350, 200);
+        executeBtn.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                if (nextStep >= schedule.size()) {
+                    executeBtn.remove();
+                    cleanUp();  // Next phase
+                    return;
+                }
+                int step = nextStep++;
+                Player player = game.getPlayer(schedule.getRobot(step));
+                ProgramCard card = schedule.getCard(game, step);
+
+                if (player.isDead()) {
+                    Log.get().log(Level.DEBUG, LogEvent.DEAD_ROBOT_SKIPPED, player.getID());
+                } else {
+                    Log.get().log(Level.DEBUG, LogEvent.CARD_EXECUTED, card.getType().name(), player.getID(), card.getPriority());
+                    executeCard(player, card);
+                }
+
+                // The board acts after the last card of each register
+                int register = schedule.getRegister(step);
+                if (nextStep == schedule.registerEnd(register)) {
+                    EventUtil.handleEvent(game);
+                    autosave(SavedGame.Phase.EXECUTING, register + 1);
+                }
+
+                clearScreen();
+                actPlayers();
+                actAndRender(Gdx.graphics.getDeltaTime());
+            }
+        });
+        stage.addActor(executeBtn);
+    }
+
+    /**
+     * Executes a card
+     *
+     * @param selectedCard The card to execute
+     */
+    private void executeCard(Player player, ProgramCard selectedCard) {
+        player.executeCard(game, selectedCard);
+    }
+
+    /**
+     * Phase 5 - ending round and cleaning up board.
+     */
+    private void cleanUp() {
+        Log.get().log(Level.INFO, LogEvent.PHASE, "Ending round and cleaning up board", 5);
+        profiler.phase("clean up");
+        for (Player player : players) {
+            if (player.isDead()) {
+                player.respawn();
+                Log.get().log(Level.INFO, LogEvent.RESPAWNED, player.getID());
+            }
+        }
+
+        recycleCards();
+
+        setupUndoBtn();
+        setupFinishedButton();
+
+        // Removes all prev. cards
+        removeCardButtons();
+        dealCardsToAll();  // Starting back at phase 1
+    }
+
+    private void removeCardButtons() {
+        for (ImageButton button : cardButtons)
+            button.remove();
+    }
+
+    private Player getHumanPlayer() {
+        for (Player player : players) {
+            if (!player.isBot()) return player;
+        }
+
+        throw new IllegalArgumentException("Human player could not be found!");
+    }
+
+    private void setupGameComponents() {
+        deck = new Deck(random.deck());
+        board = new Board();
+        programSearch = new ProgramSearch();
+        cardButtons = new ImageButton[MAX_VISIBLE_CARDS];
+        priorityLabels = new Label[MAX_VISIBLE_CARDS];
+
+        schedule = new Schedule();
+    }
+
+    private void setupPlayers(int numPlayers) {
+        players = new Player[numPlayers];
+        Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.PINK};
+        for (int i = 0; i < numPlayers; i++) {
+            if (i == 0)
+                players[i] = new Player(board.getStartPosition(i), colors[i], i, false);  // Human
+            else
+                players[i] = new Player(board.getStartPosition(i), colors[i], i, true);
+        }
+    }
+
+    private void setupRendering() {
+        int DECK_WINDOW_SIZE = 280;
+        resize(Main.WIDTH, Main.HEIGHT + DECK_WINDOW_SIZE);
+
+        batch = new SpriteBatch();
+        font = Assets.getDefaultFont();
+        camera = new OrthographicCamera();
+        camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        camera.position.y -= DECK_WINDOW_SIZE;
+        camera.update();
+        map = new TmxMapLoader().load("Map.tmx");
+        robotLayer = new RobotLayer((TiledMapTileLayer) map.getLayers().get("Player"));
+        hud = new StatusHud(font, players);
+        profilerOverlay = new ProfilerOverlay(font, profiler);
+        mapRenderer = new OrthogonalTiledMapRenderer(map);
+        mapRenderer.setView(camera);
+    }
+
+    private void setupUI() {
+        skin = Assets.acquireSkin();
+        stage = new Stage(new StretchViewport(Gdx.graphics.getWidth(), Gdx.graphics.getHeight()));
+
+        setupFinishedButton();
+        // setupCardButtons();
+        setupUndoBtn();
+
+        ScreenManager.getInstance().setScreen(this);
+    }
+
+    /**
+     * Adds necessary buttons to the screen.
+     * As of now, only one button.
+     */
+    private void setupFinishedButton() {
+        finishedBtn = new TextButton("Finished!", skin);
+        finishedBtn.setSize(200, 80);
+        finishedBtn.setPosition((float) Main.WIDTH / 2 - (finishedBtn.getWidth() / 2), 200);
+        finishedBtn.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                // If player can successfully lock in cards, begin round
+                if (humanHasEnoughCards())
+                    selectCards();
+            }
+        });
+        stage.addActor(finishedBtn);
+    }
+
+    private void setupUndoBtn() {
+        undoBtn = new TextButton("Undo", skin);
+        undoBtn.setSize(200, 80);
+        undoBtn.setPosition((float) Main.WIDTH - 550, 200);
+        undoBtn.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                getHumanPlayer().removeCards();
+                printHumanSelectedCards();
+                uncheckAllCards();
+            }
+        });
+        stage.addActor(undoBtn);
+    }
+
+    /**
+     * Adds the programming cards (9 of them) to the screen.
+     * Init cards.
+     */
+    private void setupCardButtons() {
+        int startX = 21;
+        int margin = 155;
+        for (int i = 0; i < MAX_VISIBLE_CARDS; i++) {
+            int visibleCardIndex = i;
+
+            ImageButton btn = new ImageButton(null, null, null);
+            btn.setPosition(i * margin + startX, 0);
+            btn.setSize(140, 200);
+            btn.addListener(new ClickListener() {
+                @Override
+                public void clicked(InputEvent event, float x, float y) {
+                    if (getHumanPlayer().selectedCards() == MAX_SELECTED_CARDS && btn.isChecked()) {
+                        btn.setChecked(false);
+                        Log.get().log(Level.WARN, LogEvent.CARD_LIMIT, MAX_SELECTED_CARDS);
+                        return;
+                    }
+
+                    if (btn.isChecked())
+                        getHumanPlayer().addCard(visibleCardIndex);
+
+                    printHumanSelectedCards();
+                }
+            });
+            cardButtons[i] = btn;
+
+            if (priorityLabels[i] == null) {
+                priorityLabels[i] = new Label("", skin);
+                priorityLabels[i].setSize(10, 20);
+            }
+            btn.addActor(priorityLabels[i]);
+
+            stage.addActor(btn);
+        }
+
+    }
+
+    /**
+     * Sets up input processor.
+     */
+    private void setupInput() {
+        InputAdapter keys = new InputAdapter() {
+            @Override
+            public boolean keyDown(int keycode) {
+                if (keycode != Input.Keys.F3)
+                    return false;
+
+                profilerOverlay.toggle();
+                Gdx.graphics.requestRendering();
+                return true;
+            }
+        };
+        Gdx.input.setInputProcessor(new InputMultiplexer(stage, keys));
+    }
+
+    /**
+     * Appends the frame & phase timings to the file named by the system property roborally.metrics, if set.
+     */
+    private void setupMetricsExport() {
+        String path = System.getProperty("roborally.metrics");
+        if (path == null)
+            return;
+
+        try {
+            profiler.setExport(new BufferedWriter(new FileWriter(path, true)));
+        } catch (IOException e) {
+            Log.get().log(Level.ERROR, LogEvent.IO_ERROR, e.getMessage());
+        }
+    }
+
+
+    /**
+     * Checks if player has selected enough cards.
+     */
+    private boolean humanHasEnoughCards() {
+        if (getHumanPlayer().selectedCards() == MAX_SELECTED_CARDS)
+            return true;
+        else if (getHumanPlayer().selectedCards() > MAX_SELECTED_CARDS)
+            Log.get().log(Level.WARN, LogEvent.LOCK_IN_REJECTED, "Too many cards to lock in", getHumanPlayer().selectedCards());
+        else
+            Log.get().log(Level.WARN, LogEvent.LOCK_IN_REJECTED, "Too few cards to lock in", getHumanPlayer().selectedCards());
+
+        return false;
+    }
+
+    /**
+     * Recycles cards that has been executed back to deck.
+     * The human also gives back the cards it did not choose.
+     * Also empties the cards currently chosen.
+     */
+    private void recycleCards() {
+        for (Player player : players) {
+            if (player.isBot())
+                deck.recycleAll(player.getSelectedCards());
+            else
+                deck.recycleAll(player.getVisibleCards());
+            player.setSelectedCards(new ProgramCard[MAX_SELECTED_CARDS]);
+        }
+    }
+
+    /**
+     * Unchecking all ImageButtons representing the cards.
+     * This only needs to be done for this player, as only that player has GUI.
+     */
+    private void uncheckAllCards() {
+        for (ImageButton btn : cardButtons) {
+            if (btn.isChecked())
+                btn.setChecked(false);
+        }
+    }
+
+    /**
+     * Updating the ImageButtons to correspond to the new cards.
+     * <p>
+     * This only needs to be done for this player, as only that player has GUI.
+     */
+    private void updateCardGraphics() {
+        int startX = 27;
+        int margin = 5;
+        for (int i = 0; i < MAX_VISIBLE_CARDS; i++) {
+            int priority = getHumanPlayer().getVisibleCards()[i].getPriority();
+
+            priorityLabels[i].setText(Integer.toString(priority));
+            priorityLabels[i].setPosition(margin + startX, 165);
+            priorityLabels[i].setVisible(!cardButtons[i].isChecked());
+
+            ImageButton.ImageButtonStyle oldImageButtonStyle = cardButtons[i].getStyle();
+            oldImageButtonStyle.imageUp = CardTextures.getImageUp(getHumanPlayer().getVisibleCards()[i]);
+            oldImageButtonStyle.imageChecked = CardTextures.getImageDown(getHumanPlayer().getVisibleCards()[i]);
+            oldImageButtonStyle.imageDown = CardTextures.getImageDown(getHumanPlayer().getVisibleCards()[i]);
+
+            cardButtons[i].setStyle(oldImageButtonStyle);
+        }
+    }
+
+    /**
+     * Prints all the cards the user currently has chosen.
+     */
+    private void printHumanSelectedCards() {
+        if (!Log.isEnabled(Level.DEBUG))
+            return;
+
+        // Card ids, -1 for empty slots
+        ProgramCard[] selected = getHumanPlayer().getSelectedCards();
+        long[] ids = new long[MAX_SELECTED_CARDS];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = i < selected.length && selected[i] != null ? selected[i].getId() : -1;
+        Log.get().log(Level.DEBUG, LogEvent.HUMAN_PROGRAM, null, ids[0], ids[1], ids[2], ids[3], ids[4]);
+    }
+
+    @Override
+    public void render(float v) {
+        profiler.beginFrame();
+        profiler.begin(CLEAR);
+        clearScreen();
+        profiler.end(CLEAR);
+
+        profiler.begin(ROBOTS);
+        actPlayers();
+        profiler.end(ROBOTS);
+
+        actAndRender(Gdx.graphics.getDeltaTime());
+
+        profiler.begin(STATUS);
+        drawStatus();
+        profiler.end(STATUS);
+        profiler.endFrame();
+
+        if (profilerOverlay.isVisible()) {
+            batch.begin();
+            profilerOverlay.draw(batch, Gdx.graphics.getWidth() - 260, Gdx.graphics.getHeight() - 15);
+            batch.end();
+        }
+    }
+
+    private void drawStatus() {
+        batch.begin();
+        hud.draw(batch, 15, Gdx.graphics.getHeight() - 15);
+        batch.end();
+    }
+
+    /**
+     * Clears the screen with a set background color.
+     */
+    private void clearScreen() {
+        Gdx.gl.glClearColor(178 / 255f, 148 / 255f, 119 / 255f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+
+    /**
+     * Updates all players' position.
+     */
+    private void actPlayers() {
+        robotLayer.update(players);
+    }
+
+
+    /**
+     * Wrapper method for acting and rendering the stage, map and camera.
+     *
+     * @param v The delta-time used (usually Gdx.graphics.getDeltaTime())
+     */
+    private void actAndRender(float v) {
+        profiler.begin(MAP);
+        camera.update();
+        mapRenderer.render();
+        profiler.end(MAP);
+
+        profiler.begin(STAGE_ACT);
+        stage.act(v);
+        profiler.end(STAGE_ACT);
+
+        profiler.begin(STAGE_DRAW);
+        stage.draw();
+        profiler.end(STAGE_DRAW);
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            profiler.close();
+        } catch (IOException e) {
+            Log.get().log(Level.ERROR, LogEvent.IO_ERROR, e.getMessage());
+        }
+        saver.close();
+        batch.dispose();
+        map.dispose();
+        stage.dispose();
+        Assets.release(Assets.SKIN);
+    }
+
+    @Override
+    public void show() {
+        //Intentionally empty body
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        //Intentionally empty body
+    }
+
+    @Override
+    public void pause() {
+        //Intentionally empty body
+    }
+
+    @Override
+    public void resume() {
+        //Intentionally empty body
+    }
+
+    @Override
+    public void hide() {
+        // Hidden while handling this screen's own input, so disposed once that is done
+        Gdx.app.postRunnable(this::dispose);
+    }
+}
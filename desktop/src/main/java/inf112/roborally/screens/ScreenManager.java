@@ -4,6 +4,8 @@ import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
+import inf112.roborally.ui.Assets;
+import inf112.roborally.ui.Atlas;
 
 /**
  * Singleton class for managing different screens.
@@ -31,7 +33,6 @@ public class ScreenManager extends Game implements ApplicationListener {
     @Override
     public void create() {
         super.setScreen(new MenuScreen());  // Starting with menu
-        super.getScreen().show();
     }
 
     @Override
@@ -46,7 +47,8 @@ public class ScreenManager extends Game implements ApplicationListener {
 
     @Override
     public void dispose() {
-        //Intentionally empty body
+        Atlas.dispose();
+        Assets.dispose();
     }
 
     @Override
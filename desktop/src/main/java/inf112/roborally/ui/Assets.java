@@ -0,0 +1,89 @@
+package inf112.roborally.ui;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+
+/**
+ * Registry of the assets shared by all screens, backed by an AssetManager.
+ * <p>
+ * Every asset is loaded once. Each {@link #acquire(String, Class)} counts a reference, and each
+ * {@link #release(String)} gives one back; the asset is disposed when no one holds it.
+ * A screen acquires its assets when it is created, before the screen it replaces is hidden
+ * and releases its own, so assets used by both are never reloaded.
+ */
+public class Assets {
+
+    public static final String SKIN = "rusty-robot/skin/rusty-robot-ui.json";
+    public static final String ROBOT = "rusty-robot/raw/robot.png";
+
+    private static AssetManager manager;
+
+    /**
+     * The font built into libGDX, it has no file to load.
+     */
+    private static BitmapFont defaultFont;
+
+    private Assets() {
+    }
+
+    private static AssetManager getManager() {
+        if (manager == null)
+            manager = new AssetManager();
+
+        return manager;
+    }
+
+    /**
+     * Gets an asset, loading it if needed, and counts one more reference to it.
+     *
+     * @param path Path of the asset, in the assets folder
+     * @param type Type of the asset, e.g. Texture.class
+     * @return The shared asset
+     */
+    public static <T> T acquire(String path, Class<T> type) {
+        AssetManager manager = getManager();
+        manager.load(path, type);
+        manager.finishLoading();
+        return manager.get(path, type);
+    }
+
+    /**
+     * Gives back a reference to an asset, disposing it if it was the last one.
+     *
+     * @param path Path of the asset, as acquired
+     */
+    public static void release(String path) {
+        if (manager != null && manager.isLoaded(path))
+            manager.unload(path);
+    }
+
+    /**
+     * @return The UI skin, counting one more reference to it
+     */
+    public static Skin acquireSkin() {
+        return acquire(SKIN, Skin.class);
+    }
+
+    /**
+     * @return The font built into libGDX. Shared, do not dispose it.
+     */
+    public static BitmapFont getDefaultFont() {
+        if (defaultFont == null)
+            defaultFont = new BitmapFont();
+
+        return defaultFont;
+    }
+
+    /**
+     * Disposes all assets. Called when the application exits.
+     */
+    public static void dispose() {
+        if (manager != null)
+            manager.dispose();
+        if (defaultFont != null)
+            defaultFont.dispose();
+        manager = null;
+        defaultFont = null;
+    }
+}
@@ -0,0 +1,51 @@
+package inf112.roborally.ui;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * The texture atlas holding the card and robot images, packed from desktop/textures.
+ * It is acquired from {@link Assets} once, on first use, and shared by all screens.
+ */
+public class Atlas {
+
+    public static final String PATH = "atlas/roborally.atlas";
+
+    private static TextureAtlas atlas;
+
+    private Atlas() {
+    }
+
+    /**
+     * @return The atlas, loading it if needed
+     */
+    public static TextureAtlas get() {
+        if (atlas == null)
+            atlas = Assets.acquire(PATH, TextureAtlas.class);
+
+        return atlas;
+    }
+
+    /**
+     * @param name Name of the image, its path in desktop/textures without extension
+     * @return The region of the image
+     * @throws IllegalArgumentException if the atlas has no such image
+     */
+    public static TextureAtlas.AtlasRegion findRegion(String name) {
+        TextureAtlas.AtlasRegion region = get().findRegion(name);
+        if (region == null)
+            throw new IllegalArgumentException("No image '" + name + "' in " + PATH);
+
+        return region;
+    }
+
+    /**
+     * Releases the atlas. Called when the application exits.
+     */
+    public static void dispose() {
+        if (atlas != null)
+            Assets.release(PATH);
+        atlas = null;
+        CardTextures.clear();
+        PlayerTextures.clear();
+    }
+}
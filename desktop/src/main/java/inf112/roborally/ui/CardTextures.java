@@ -0,0 +1,99 @@
+package inf112.roborally.ui;
+
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import inf112.roborally.cards.CardType;
+import inf112.roborally.cards.ProgramCard;
+
+import java.util.Arrays;
+
+/**
+ * Provides the textures used to draw program cards.
+ * One drawable per card type and state is made from the atlas, and shared by all cards.
+ */
+public class CardTextures {
+
+    private static final TextureRegionDrawable[] imagesUp = new TextureRegionDrawable[CardType.values().length];
+    private static final TextureRegionDrawable[] imagesDown = new TextureRegionDrawable[CardType.values().length];
+
+    /**
+     * A method for getting the image up texture used on an ImageButton.
+     *
+     * @param card The card to draw
+     * @return A texture used on an ImageButton.
+     */
+    public static TextureRegionDrawable getImageUp(ProgramCard card) {
+        CardType type = card.getType();
+        if (imagesUp[type.ordinal()] == null)
+            imagesUp[type.ordinal()] = getTextureFromType(type, false);
+
+        return imagesUp[type.ordinal()];
+    }
+
+    /**
+     * A method for getting the image down texture used on an ImageButton.
+     *
+     * @param card The card to draw
+     * @return A texture used on an ImageButton.
+     */
+    public static TextureRegionDrawable getImageDown(ProgramCard card) {
+        CardType type = card.getType();
+        if (imagesDown[type.ordinal()] == null)
+            imagesDown[type.ordinal()] = getTextureFromType(type, true);
+
+        return imagesDown[type.ordinal()];
+    }
+
+    /**
+     * Given a CardType, returns corresponding texture.
+     *
+     * @param type The type of the card
+     * @return Corresponding texture of cardtype
+     */
+    private static TextureRegionDrawable getTextureFromType(CardType type, boolean pressed) {
+        String state = pressed ? "_pressed" : "_notPressed";
+
+        String name;
+        switch (type) {
+            case MOVE1:
+                name = "move1";
+                break;
+
+            case MOVE2:
+                name = "move2";
+                break;
+
+            case MOVE3:
+                name = "move3";
+                break;
+
+            case BACKUP:
+                name = "backup";
+                break;
+
+            case TURN_U:
+                name = "uTurn";
+                break;
+
+            case TURN_LEFT:
+                name = "leftRotate";
+                break;
+
+            case TURN_RIGHT:
+                name = "rightRotate";
+                break;
+
+            default:
+                return null;
+        }
+
+        return new TextureRegionDrawable(Atlas.findRegion("cards/" + name + state));
+    }
+
+    /**
+     * Forgets the drawables, after the atlas is disposed.
+     */
+    static void clear() {
+        Arrays.fill(imagesUp, null);
+        Arrays.fill(imagesDown, null);
+    }
+}
@@ -0,0 +1,52 @@
+package inf112.roborally.ui;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import inf112.roborally.entities.Color;
+import inf112.roborally.entities.Direction;
+import inf112.roborally.entities.Player;
+
+import java.util.Arrays;
+
+/**
+ * Provides the textures used to draw robots on the player layer.
+ * One cell per color and facing is made from the atlas, and shared by all robots.
+ */
+public class PlayerTextures {
+
+    private static final TiledMapTileLayer.Cell[][] cells =
+            new TiledMapTileLayer.Cell[Color.values().length][Direction.values().length];
+
+    /**
+     * @return The cell of a robot with the given color, facing the given direction
+     */
+    private static TiledMapTileLayer.Cell getCell(Color color, Direction dir) {
+        TiledMapTileLayer.Cell cell = cells[color.ordinal()][dir.ordinal()];
+        if (cell == null) {
+            String name = "player-skin/" + color + "/player-" + dir.name().toLowerCase();
+            cell = new TiledMapTileLayer.Cell();
+            cell.setTile(new StaticTiledMapTile(Atlas.findRegion(name)));
+            cells[color.ordinal()][dir.ordinal()] = cell;
+        }
+
+        return cell;
+    }
+
+    /**
+     * TiledMapTileLayer.Cell
+     *
+     * @param player The robot to draw
+     * @return A cell showing the robot in its color, facing its direction. Shared, do not change it.
+     */
+    public static TiledMapTileLayer.Cell getPlayerIcon(Player player) {
+        return getCell(player.color, player.getDir());
+    }
+
+    /**
+     * Forgets the cells, after the atlas is disposed.
+     */
+    static void clear() {
+        for (TiledMapTileLayer.Cell[] row : cells)
+            Arrays.fill(row, null);
+    }
+}
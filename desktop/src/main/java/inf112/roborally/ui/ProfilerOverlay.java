@@ -0,0 +1,85 @@
+package inf112.roborally.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import inf112.roborally.profiling.FrameProfiler;
+
+/**
+ * Shows the frame times of a FrameProfiler: rolling p50 & p99, the time of each section,
+ * and the garbage collections & allocated bytes of the last frame.
+ */
+public class ProfilerOverlay {
+
+    private static final float LINE_HEIGHT = 18;
+
+    private final BitmapFont font;
+    private final FrameProfiler profiler;
+    private final String[] sections;
+
+    /**
+     * Reused for each line, so drawing does not build strings.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+    private boolean visible = false;
+
+    public ProfilerOverlay(BitmapFont font, FrameProfiler profiler) {
+        this.font = font;
+        this.profiler = profiler;
+        this.sections = profiler.getSections();
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void toggle() {
+        visible = !visible;
+    }
+
+    /**
+     * Draws the overlay, if visible.
+     *
+     * @param batch A batch that has begun
+     * @param x     Left edge of the lines
+     * @param top   Top of the first line
+     */
+    public void draw(Batch batch, float x, float top) {
+        if (!visible)
+            return;
+
+        font.setColor(Color.WHITE);
+        line.setLength(0);
+        line.append("frame ");
+        appendMs(profiler.getFrameTime());
+        line.append("  p50 ");
+        appendMs(profiler.getFramePercentile(50));
+        line.append("  p99 ");
+        appendMs(profiler.getFramePercentile(99));
+        font.draw(batch, line, x, top);
+
+        for (int i = 0; i < sections.length; i++) {
+            line.setLength(0);
+            line.append(sections[i]).append(' ');
+            appendMs(profiler.getSectionTime(i));
+            font.draw(batch, line, x, top - (i + 1) * LINE_HEIGHT);
+        }
+
+        line.setLength(0);
+        line.append("gc ").append(profiler.getGcCount())
+                .append("  alloc ").append(profiler.getAllocatedBytes()).append(" B");
+        font.draw(batch, line, x, top - (sections.length + 1) * LINE_HEIGHT);
+    }
+
+    /**
+     * Appends a time with two decimals.
+     */
+    private void appendMs(double ms) {
+        long hundredths = Math.round(ms * 100);
+        line.append(hundredths / 100).append('.');
+        if (hundredths % 100 < 10)
+            line.append('0');
+        line.append(hundredths % 100).append(" ms");
+    }
+}
@@ -0,0 +1,112 @@
+package inf112.roborally.ui;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.RobotEvent;
+import inf112.roborally.game.RobotListener;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the robots drawn on the player layer of the map.
+ * <p>
+ * Remembers the cell and facing each robot was drawn with, and only touches the cells of
+ * robots that have moved, turned, died or respawned since the last update. Listening to the game, it knows
+ * when nothing has changed, and an update then does nothing.
+ */
+public class RobotLayer implements RobotListener {
+
+    private static final int NOT_DRAWN = -1;
+
+    private final TiledMapTileLayer layer;
+
+    /**
+     * Cell (x, y) and facing (Direction ordinal) each robot is drawn with, by robot id.
+     * NOT_DRAWN if the robot is not on the layer.
+     */
+    private int[] drawnX = new int[0];
+    private int[] drawnY = new int[0];
+    private int[] drawnDir = new int[0];
+
+    /**
+     * True if a robot may have moved or turned since the last update.
+     */
+    private boolean dirty = true;
+
+    /**
+     * @param layer The player layer, empty
+     */
+    public RobotLayer(TiledMapTileLayer layer) {
+        this.layer = layer;
+    }
+
+    /**
+     * Redraws the robots that have moved or turned, and takes dead robots off the layer.
+     *
+     * @param players All robots
+     */
+    public void update(Player[] players) {
+        if (!dirty)
+            return;
+        dirty = false;
+        ensureCapacity(players);
+
+        // Clearing all old cells before drawing, as a robot may move to where another one was.
+        // Dead robots are taken off the layer until they respawn.
+        for (Player player : players) {
+            int id = player.getID();
+            if (drawnDir[id] != NOT_DRAWN && (player.isDead() || hasChanged(player))) {
+                layer.setCell(drawnX[id], drawnY[id], null);
+                drawnDir[id] = NOT_DRAWN;
+            }
+        }
+
+        // Drawing robots that changed, and any unchanged robot whose cell was just cleared
+        for (Player player : players) {
+            int id = player.getID();
+            if (player.isDead())
+                continue;
+            if (drawnDir[id] != NOT_DRAWN && layer.getCell(drawnX[id], drawnY[id]) != null)
+                continue;
+
+            layer.setCell(player.getX(), player.getY(), PlayerTextures.getPlayerIcon(player));
+            drawnX[id] = player.getX();
+            drawnY[id] = player.getY();
+            drawnDir[id] = player.getDir().ordinal();
+        }
+    }
+
+    @Override
+    public void robotChanged(Player player, RobotEvent event) {
+        switch (event) {
+            case MOVED:
+            case ROTATED:
+            case DIED:
+            case RESPAWNED:
+                dirty = true;
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    private boolean hasChanged(Player player) {
+        int id = player.getID();
+        return drawnX[id] != player.getX() || drawnY[id] != player.getY() || drawnDir[id] != player.getDir().ordinal();
+    }
+
+    private void ensureCapacity(Player[] players) {
+        int maxId = -1;
+        for (Player player : players)
+            maxId = Math.max(maxId, player.getID());
+        if (maxId < drawnDir.length)
+            return;
+
+        int oldLength = drawnDir.length;
+        drawnX = Arrays.copyOf(drawnX, maxId + 1);
+        drawnY = Arrays.copyOf(drawnY, maxId + 1);
+        drawnDir = Arrays.copyOf(drawnDir, maxId + 1);
+        Arrays.fill(drawnDir, oldLength, maxId + 1, NOT_DRAWN);
+    }
+}
@@ -0,0 +1,104 @@
+package inf112.roborally.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+import inf112.roborally.entities.Player;
+import inf112.roborally.game.RobotEvent;
+import inf112.roborally.game.RobotListener;
+
+/**
+ * The status line of each robot: lives, damage & flags, in the robot's color.
+ * <p>
+ * The text of a line is laid out once, and again only when the game says the robot's
+ * status has changed, so drawing an unchanged HUD allocates nothing.
+ */
+public class StatusHud implements RobotListener {
+
+    private static final float LINE_HEIGHT = 25;
+
+    private final BitmapFont font;
+    private final Player[] players;
+
+    /**
+     * Layout of each robot's line, and whether it is out of date, by robot id.
+     */
+    private final GlyphLayout[] layouts;
+    private final boolean[] dirty;
+
+    /**
+     * @param font    Font to write with
+     * @param players The robots, one line each, in this order
+     */
+    public StatusHud(BitmapFont font, Player[] players) {
+        this.font = font;
+        this.players = players;
+
+        int maxId = -1;
+        for (Player player : players)
+            maxId = Math.max(maxId, player.getID());
+        layouts = new GlyphLayout[maxId + 1];
+        dirty = new boolean[maxId + 1];
+        for (Player player : players) {
+            layouts[player.getID()] = new GlyphLayout();
+            dirty[player.getID()] = true;
+        }
+    }
+
+    @Override
+    public void robotChanged(Player player, RobotEvent event) {
+        switch (event) {
+            case DAMAGED:
+            case FLAG_TAKEN:
+            case DIED:
+            case RESPAWNED:
+            case WON:
+            case DESTROYED:
+                dirty[player.getID()] = true;
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Draws the lines, laying out those that are out of date.
+     *
+     * @param batch A batch that has begun
+     * @param x     Left edge of the lines
+     * @param top   Top of the first line
+     */
+    public void draw(Batch batch, float x, float top) {
+        for (int i = 0; i < players.length; i++) {
+            Player player = players[i];
+            GlyphLayout layout = layouts[player.getID()];
+            if (dirty[player.getID()]) {
+                layout.setText(font, player.status(), getColor(player), 0, Align.left, false);
+                dirty[player.getID()] = false;
+            }
+            font.draw(batch, layout, x, top - i * LINE_HEIGHT);
+        }
+    }
+
+    private static Color getColor(Player player) {
+        switch (player.color) {
+            case RED:
+                return Color.RED;
+
+            case GREEN:
+                return Color.GREEN;
+
+            case BLUE:
+                return Color.BLUE;
+
+            case PINK:
+                return Color.PINK;
+
+            default:
+                return Color.WHITE;
+        }
+    }
+}
@@ -1,8 +0,0 @@
-package inf112.roborally.entities;
-
-public enum Direction {
-    NORTH,
-    SOUTH,
-    EAST,
-    WEST
-}